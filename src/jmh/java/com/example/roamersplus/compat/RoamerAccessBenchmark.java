@@ -0,0 +1,136 @@
+package com.example.roamersplus.compat;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.Container;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the old per-call reflection, a cached {@link Method}, and the shipped
+ * {@link ReflectiveRoamerAccess} for the two hottest accessors, {@code getRace} and {@code getInventory}.
+ *
+ * Roamers is not on the benchmark classpath, so the accessor is resolved with
+ * {@link ReflectiveRoamerAccess#forClasses} against stand-in entities with the same members:
+ * public no-argument getters, {@code getInventory} on a subclass.
+ *
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoamerAccessBenchmark {
+
+    public static class Character extends Entity {
+        private final Object race = new Object();
+
+        public Character(EntityType<?> type, Level level) {
+            super(type, level);
+        }
+
+        public Object getRace() {
+            return race;
+        }
+
+        @Override
+        protected void defineSynchedData(SynchedEntityData.Builder builder) {
+        }
+
+        @Override
+        protected void readAdditionalSaveData(CompoundTag tag) {
+        }
+
+        @Override
+        protected void addAdditionalSaveData(CompoundTag tag) {
+        }
+    }
+
+    public static class PlayerLike extends Character {
+        private final Container inventory = new SimpleContainer(36);
+
+        public PlayerLike(EntityType<?> type, Level level) {
+            super(type, level);
+        }
+
+        public Container getInventory() {
+            return inventory;
+        }
+    }
+
+    private static final ReflectiveRoamerAccess ACCESS =
+        ReflectiveRoamerAccess.forClasses(PlayerLike.class, Character.class, PlayerLike.class, null);
+
+    private static final Method RACE_METHOD = method(Character.class, "getRace");
+    private static final Method INVENTORY_METHOD = method(PlayerLike.class, "getInventory");
+
+    private Entity roamer;
+
+    private static Method method(Class<?> owner, String name) {
+        try {
+            return owner.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        // Entities need the registries; the stand-ins are never added to a level
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        roamer = new PlayerLike(EntityType.MARKER, null);
+    }
+
+    // Baseline: the method looked up by name and invoked reflectively on every call
+    @Benchmark
+    public Object getRaceReflective() throws ReflectiveOperationException {
+        Method method = roamer.getClass().getMethod("getRace");
+        return method.invoke(roamer);
+    }
+
+    @Benchmark
+    public Object getRaceCachedMethod() throws ReflectiveOperationException {
+        return RACE_METHOD.invoke(roamer);
+    }
+
+    @Benchmark
+    public Object getRaceAccessor() {
+        return ACCESS.getRace(roamer);
+    }
+
+    @Benchmark
+    public Object getInventoryReflective() throws ReflectiveOperationException {
+        Method method = roamer.getClass().getMethod("getInventory");
+        return method.invoke(roamer);
+    }
+
+    @Benchmark
+    public Object getInventoryCachedMethod() throws ReflectiveOperationException {
+        return INVENTORY_METHOD.invoke(roamer);
+    }
+
+    @Benchmark
+    public Object getInventoryAccessor() {
+        return ACCESS.getInventory(roamer);
+    }
+}
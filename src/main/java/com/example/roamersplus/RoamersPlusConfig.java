@@ -0,0 +1,45 @@
+package com.example.roamersplus;
+
+import net.neoforged.neoforge.common.ModConfigSpec;
+
+/**
+ * Server config for RoamersPlus performance tuning.
+ */
+public class RoamersPlusConfig {
+
+    private static final ModConfigSpec.Builder BUILDER = new ModConfigSpec.Builder();
+
+    public static final ModConfigSpec.IntValue WORK_BUDGET_MICROS = BUILDER
+        .comment("Time budget per server tick for deferred RoamersPlus work (planting, bonemeal, scattering), in microseconds.",
+                 "Work that does not fit carries over to the next tick. At least one unit of work runs every tick.")
+        .defineInRange("workBudgetMicros", 1000, 50, 50_000);
+
+    public static final ModConfigSpec.IntValue MAX_TREE_GROWTHS_PER_TICK = BUILDER
+        .comment("Maximum trees grown from bonemealed saplings per level per tick. Further growth waits for later ticks.")
+        .defineInRange("maxTreeGrowthsPerTick", 2, 1, 64);
+
+    public static final ModConfigSpec.DoubleValue THROTTLE_START_MSPT = BUILDER
+        .comment("Average milliseconds per tick at which planting, bonemeal and stuck detection run half as often.")
+        .defineInRange("throttleStartMspt", 40.0, 1.0, 1000.0);
+
+    public static final ModConfigSpec.DoubleValue THROTTLE_HEAVY_MSPT = BUILDER
+        .comment("Average milliseconds per tick at which planting, bonemeal and stuck detection run a quarter as often.")
+        .defineInRange("throttleHeavyMspt", 45.0, 1.0, 1000.0);
+
+    public static final ModConfigSpec.DoubleValue THROTTLE_SUSPEND_MSPT = BUILDER
+        .comment("Average milliseconds per tick at which planting, bonemeal and stuck detection are suspended.")
+        .defineInRange("throttleSuspendMspt", 50.0, 1.0, 1000.0);
+
+    public static final ModConfigSpec.DoubleValue THROTTLE_HYSTERESIS_MSPT = BUILDER
+        .comment("How far below a threshold average MSPT must fall before throttling steps back down.")
+        .defineInRange("throttleHysteresisMspt", 5.0, 0.0, 100.0);
+
+    public static final ModConfigSpec SPEC = BUILDER.build();
+
+    /**
+     * Gets the per-tick work budget in nanoseconds.
+     */
+    public static long getWorkBudgetNanos() {
+        return WORK_BUDGET_MICROS.get() * 1000L;
+    }
+}
@@ -1,13 +1,22 @@
 package com.example.roamersplus;
 
+import com.example.roamersplus.command.RoamersPlusCommand;
+import com.example.roamersplus.compat.RoamersApi;
+import com.example.roamersplus.compat.RoamersConfigView;
 import com.example.roamersplus.event.RoamerEventHandler;
-import com.example.roamersplus.util.PitySystem;
+import com.example.roamersplus.event.RoamerTickDriver;
+import com.example.roamersplus.placement.HomeSurveys;
+import com.example.roamersplus.placement.SaplingItemIndex;
+import com.example.roamersplus.placement.TreeBlockIndex;
+import com.example.roamersplus.schedule.BonemealQueue;
+import com.example.roamersplus.schedule.ReplantQueue;
+import com.example.roamersplus.state.RoamersPlusAttachments;
 import net.neoforged.bus.api.IEventBus;
-import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.ModContainer;
 import net.neoforged.fml.common.Mod;
+import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
-import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,26 +25,41 @@ public class RoamersPlusMod {
     public static final String MODID = "roamersplus";
     public static final Logger LOGGER = LogManager.getLogger();
 
-    public RoamersPlusMod(IEventBus modEventBus) {
+    public RoamersPlusMod(IEventBus modEventBus, ModContainer modContainer) {
         LOGGER.info("RoamersPlus initializing...");
         
         // Register mod lifecycle events
         modEventBus.addListener(this::commonSetup);
         
+        // Register server config (performance tuning)
+        modContainer.registerConfig(ModConfig.Type.SERVER, RoamersPlusConfig.SPEC);
+        
+        // Register per-roamer state attachment
+        RoamersPlusAttachments.register(modEventBus);
+        
         // Register game events on the NeoForge event bus
         NeoForge.EVENT_BUS.register(RoamerEventHandler.class);
-        NeoForge.EVENT_BUS.register(this);
+        NeoForge.EVENT_BUS.register(RoamersPlusCommand.class);
+        
+        // Pick direct or reflective Roamers integration based on the loaded Roamers version
+        RoamersApi.init();
+        
+        // Only drive per-tick roamer work when Roamers is actually present
+        if (RoamersApi.isAvailable()) {
+            NeoForge.EVENT_BUS.register(RoamerTickDriver.class);
+            TreeBlockIndex.register();
+            SaplingItemIndex.register();
+            HomeSurveys.register();
+            BonemealQueue.register();
+            ReplantQueue.register();
+            RoamerEventHandler.registerInventorySubscribers();
+        }
+        
+        // Cache Roamers config values; refreshed on server start and config reload
+        RoamersConfigView.register();
     }
 
     private void commonSetup(final FMLCommonSetupEvent event) {
         LOGGER.info("RoamersPlus common setup complete");
     }
-    
-    @SubscribeEvent
-    public void onServerStopped(ServerStoppedEvent event) {
-        // Clean up all tracking systems to prevent memory leaks
-        PitySystem.cleanup();
-        RoamerEventHandler.cleanup();
-        LOGGER.info("RoamersPlus cleanup complete");
-    }
 }
@@ -0,0 +1,83 @@
+package com.example.roamersplus.command;
+
+import com.example.roamersplus.placement.HomeSurveys;
+import com.example.roamersplus.placement.PlacementPlanner;
+import com.example.roamersplus.placement.PlacementStats;
+import com.example.roamersplus.schedule.BonemealQueue;
+import com.example.roamersplus.schedule.GrowthScheduler;
+import com.example.roamersplus.schedule.MsptGovernor;
+import com.example.roamersplus.schedule.ReplantQueue;
+import com.example.roamersplus.schedule.RoamerJob;
+import com.example.roamersplus.schedule.RoamerScheduler;
+import com.example.roamersplus.schedule.WorkQueue;
+import com.example.roamersplus.state.RoamerRegistry;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+
+/**
+ * {@code /roamersplus status}: reports throttle level, scheduler activity and placement scan stats.
+ */
+public class RoamersPlusCommand {
+
+    @SubscribeEvent
+    public static void onRegisterCommands(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("roamersplus")
+            .requires(source -> source.hasPermission(2))
+            .then(Commands.literal("status").executes(RoamersPlusCommand::status)));
+    }
+
+    private static int status(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.throttle",
+            MsptGovernor.getLevel().name(), String.format("%.1f", MsptGovernor.getAverageMspt()),
+            RoamerRegistry.size()), false);
+
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.work_queue",
+            WorkQueue.size(), WorkQueue.getLastTickSteps(), WorkQueue.getLastTickNanos() / 1000), false);
+
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.planning",
+            HomeSurveys.size(), PlacementPlanner.getInFlightCount()), false);
+
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.bonemeal",
+            BonemealQueue.size(), BonemealQueue.getTotalInvalidated(), BonemealQueue.getTotalEvicted()), false);
+
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.growth",
+            GrowthScheduler.size(), GrowthScheduler.getLastTickStages(), GrowthScheduler.getLastTickTrees(),
+            GrowthScheduler.getLastTickSkipped(), GrowthScheduler.getTotalTrees()), false);
+
+        StringBuilder replants = new StringBuilder();
+        for (ReplantQueue.Result result : ReplantQueue.Result.values()) {
+            if (!replants.isEmpty()) replants.append(", ");
+            replants.append(result.name().toLowerCase()).append('=').append(ReplantQueue.getTotal(result));
+        }
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.replant",
+            ReplantQueue.size(), replants.toString()), false);
+
+        StringBuilder skipped = new StringBuilder();
+        for (PlacementStats.Scan scan : PlacementStats.Scan.values()) {
+            if (!skipped.isEmpty()) skipped.append(", ");
+            skipped.append(scan.name().toLowerCase()).append('=')
+                .append(PlacementStats.getSkipped(scan)).append('/').append(PlacementStats.getScanned(scan));
+        }
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.skipped", skipped.toString()), false);
+
+        StringBuilder jobs = new StringBuilder();
+        for (RoamerJob job : RoamerJob.values()) {
+            if (!jobs.isEmpty()) jobs.append(", ");
+            jobs.append(job.name().toLowerCase()).append('=').append(RoamerScheduler.getLastTickCount(job));
+        }
+        source.sendSuccess(() -> Component.translatable("roamersplus.command.status.jobs", jobs.toString()), false);
+
+        return 1;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.roamersplus.compat;
+
+import com.example.roamersplus.RoamersPlusMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.block.Block;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Reflective {@link RoamerAccess} that works against any Roamers version.
+ *
+ * Every Roamers class, method and field we use is resolved exactly once into a
+ * {@link MethodHandle}. The handles live in a record held by this record, which is held in a
+ * {@code static final} field; HotSpot trusts the final fields of records, so the JIT treats the
+ * handles as constants and inlines the targets like direct calls. Members that do not exist in
+ * the loaded Roamers version resolve to {@code null} and the matching accessor returns a neutral
+ * value without throwing, so missing methods cost nothing after startup.
+ */
+record ReflectiveRoamerAccess(Handles handles) implements RoamerAccess {
+
+    static final ReflectiveRoamerAccess INSTANCE = resolveRoamers();
+
+    private static final String ROAMER_ENTITY = "net.caitie.roamers.entity.RoamerEntity";
+    private static final String ABSTRACT_CHARACTER = "net.caitie.roamers.entity.AbstractCharacter";
+    private static final String PLAYER_LIKE_CHARACTER = "net.caitie.roamers.entity.PlayerLikeCharacter";
+    private static final String ACTIVITY = "net.caitie.roamers.entity.PlayerLikeCharacter$Activity";
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Entity.class);
+
+    /**
+     * The resolved Roamers members; null where a member was not found.
+     */
+    record Handles(
+        Class<?> roamerClass,
+        MethodHandle getRace,
+        MethodHandle getInventory,
+        MethodHandle getHomePos,
+        MethodHandle getWantedBuildingBlock,
+        MethodHandle getWantedCraftingItem,
+        MethodHandle getCurrentActivity,
+        MethodHandle setWantedCraftingItem,
+        MethodHandle setCurrentActivity,
+        MethodHandle craftingTablePosGetter,
+        MethodHandle craftingTablePosSetter,
+        Object idleActivity,
+        // Direct calls link against exact descriptors, so these must return what DirectRoamerAccess
+        // was compiled against (Roamers 2.1)
+        boolean directReturnTypesMatch
+    ) {
+    }
+
+    private static ReflectiveRoamerAccess resolveRoamers() {
+        Class<?> roamerClass = findClass(ROAMER_ENTITY);
+        Class<?> playerLikeClass = findClass(PLAYER_LIKE_CHARACTER);
+        if (roamerClass == null || playerLikeClass == null) {
+            RoamersPlusMod.LOGGER.warn("Could not find Roamers mod classes. RoamersPlus features will be disabled.");
+        }
+        return forClasses(roamerClass, findClass(ABSTRACT_CHARACTER), playerLikeClass, findClass(ACTIVITY));
+    }
+
+    /**
+     * Resolves the accessor against the given classes instead of the Roamers ones, so it can be
+     * exercised with stand-ins that have the same members. Any class may be null.
+     */
+    static ReflectiveRoamerAccess forClasses(Class<?> roamerClass, Class<?> abstractCharacterClass,
+                                             Class<?> playerLikeClass, Class<?> activityClass) {
+        return new ReflectiveRoamerAccess(new Handles(
+            roamerClass,
+            findGetter(abstractCharacterClass, "getRace"),
+            findGetter(playerLikeClass, "getInventory"),
+            findGetter(playerLikeClass, "getHomePos"),
+            findGetter(playerLikeClass, "getWantedBuildingBlock"),
+            findGetter(playerLikeClass, "getWantedCraftingItem"),
+            findGetter(playerLikeClass, "getCurrentActivity"),
+            findSetter(playerLikeClass, "setWantedCraftingItem", Item.class),
+            findSetter(playerLikeClass, "setCurrentActivity", activityClass),
+            findFieldGetter(playerLikeClass, "craftingTablePos"),
+            findFieldSetter(playerLikeClass, "craftingTablePos"),
+            findEnumConstant(activityClass, "IDLE"),
+            returns(playerLikeClass, "getHomePos", BlockPos.class)
+                && returns(playerLikeClass, "getWantedBuildingBlock", Block.class)
+                && returns(playerLikeClass, "getWantedCraftingItem", Item.class)
+                && returns(playerLikeClass, "getCurrentActivity", activityClass)));
+    }
+
+    // ==================== RESOLUTION ====================
+
+    private static Class<?> findClass(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException | LinkageError e) {
+            RoamersPlusMod.LOGGER.debug("Roamers class not found: {}", name);
+            return null;
+        }
+    }
+
+    private static MethodHandle findGetter(Class<?> owner, String name) {
+        if (owner == null) return null;
+        try {
+            Method method = owner.getMethod(name);
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            RoamersPlusMod.LOGGER.debug("Roamers method {}.{}() not available", owner.getSimpleName(), name);
+            return null;
+        }
+    }
+
+    private static boolean returns(Class<?> owner, String name, Class<?> returnType) {
+        if (owner == null || returnType == null) return false;
+        try {
+            return owner.getMethod(name).getReturnType() == returnType;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle findSetter(Class<?> owner, String name, Class<?> argType) {
+        if (owner == null || argType == null) return null;
+        try {
+            Method method = owner.getMethod(name, argType);
+            return MethodHandles.publicLookup().unreflect(method)
+                .asType(MethodType.methodType(void.class, Entity.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            RoamersPlusMod.LOGGER.debug("Roamers method {}.{}({}) not available",
+                owner.getSimpleName(), name, argType.getSimpleName());
+            return null;
+        }
+    }
+
+    private static MethodHandle findFieldGetter(Class<?> owner, String name) {
+        if (owner == null) return null;
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectGetter(field).asType(GETTER);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            RoamersPlusMod.LOGGER.debug("Roamers field {}.{} not available", owner.getSimpleName(), name);
+            return null;
+        }
+    }
+
+    private static MethodHandle findFieldSetter(Class<?> owner, String name) {
+        if (owner == null) return null;
+        try {
+            Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Entity.class, Object.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            RoamersPlusMod.LOGGER.debug("Roamers field {}.{} not writable", owner.getSimpleName(), name);
+            return null;
+        }
+    }
+
+    private static Object findEnumConstant(Class<?> enumClass, String name) {
+        if (enumClass == null || enumClass.getEnumConstants() == null) return null;
+        for (Object constant : enumClass.getEnumConstants()) {
+            if (constant.toString().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private static Object invokeGetter(MethodHandle handle, Entity entity) {
+        try {
+            return (Object) handle.invokeExact(entity);
+        } catch (Throwable t) {
+            RoamersPlusMod.LOGGER.debug("Roamers accessor failed: {}", t.getMessage());
+            return null;
+        }
+    }
+
+    private static void invokeSetter(MethodHandle handle, Entity entity, Object value) {
+        try {
+            handle.invokeExact(entity, value);
+        } catch (Throwable t) {
+            RoamersPlusMod.LOGGER.debug("Roamers mutator failed: {}", t.getMessage());
+        }
+    }
+
+    // ==================== ACCESSORS ====================
+
+    /**
+     * Whether the core Roamers classes were found.
+     */
+    boolean isAvailable() {
+        return handles.roamerClass() != null;
+    }
+
+    /**
+     * Whether every member used by a direct, compiled-against-Roamers implementation was found
+     * with the expected signature, meaning such an implementation can be linked safely.
+     */
+    boolean hasFullApi() {
+        return handles.roamerClass() != null
+            && handles.directReturnTypesMatch()
+            && handles.getRace() != null
+            && handles.getInventory() != null
+            && handles.getHomePos() != null
+            && handles.getWantedBuildingBlock() != null
+            && handles.getWantedCraftingItem() != null
+            && handles.getCurrentActivity() != null
+            && handles.setWantedCraftingItem() != null
+            && handles.setCurrentActivity() != null
+            && handles.idleActivity() != null;
+    }
+
+    @Override
+    public boolean isRoamer(Entity entity) {
+        Class<?> roamerClass = handles.roamerClass();
+        return roamerClass != null && roamerClass.isInstance(entity);
+    }
+
+    @Override
+    public Object getRace(Entity entity) {
+        if (handles.getRace() == null) return null;
+        return invokeGetter(handles.getRace(), entity);
+    }
+
+    @Override
+    public Container getInventory(Entity entity) {
+        if (handles.getInventory() == null) return null;
+        return invokeGetter(handles.getInventory(), entity) instanceof Container container ? container : null;
+    }
+
+    @Override
+    public BlockPos getHomePos(Entity entity) {
+        if (handles.getHomePos() == null) return null;
+        return invokeGetter(handles.getHomePos(), entity) instanceof BlockPos pos ? pos : null;
+    }
+
+    @Override
+    public Object getWantedBuildingBlock(Entity entity) {
+        if (handles.getWantedBuildingBlock() == null) return null;
+        return invokeGetter(handles.getWantedBuildingBlock(), entity);
+    }
+
+    @Override
+    public Object getWantedCraftingItem(Entity entity) {
+        if (handles.getWantedCraftingItem() == null) return null;
+        return invokeGetter(handles.getWantedCraftingItem(), entity);
+    }
+
+    @Override
+    public Object getCurrentActivity(Entity entity) {
+        if (handles.getCurrentActivity() == null) return null;
+        return invokeGetter(handles.getCurrentActivity(), entity);
+    }
+
+    @Override
+    public void setWantedCraftingItem(Entity entity, Item item) {
+        if (handles.setWantedCraftingItem() == null) return;
+        invokeSetter(handles.setWantedCraftingItem(), entity, item);
+    }
+
+    @Override
+    public void setActivityIdle(Entity entity) {
+        if (handles.setCurrentActivity() == null || handles.idleActivity() == null) return;
+        invokeSetter(handles.setCurrentActivity(), entity, handles.idleActivity());
+    }
+
+    @Override
+    public BlockPos getCraftingTablePos(Entity entity) {
+        if (handles.craftingTablePosGetter() == null) return null;
+        return invokeGetter(handles.craftingTablePosGetter(), entity) instanceof BlockPos pos ? pos : null;
+    }
+
+    @Override
+    public void setCraftingTablePos(Entity entity, BlockPos pos) {
+        if (handles.craftingTablePosSetter() == null) return;
+        invokeSetter(handles.craftingTablePosSetter(), entity, pos);
+    }
+}
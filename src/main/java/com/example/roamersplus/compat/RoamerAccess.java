@@ -0,0 +1,70 @@
+package com.example.roamersplus.compat;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+
+/**
+ * Operations RoamersPlus needs from Roamers entities.
+ *
+ * Implementations never throw: values that cannot be read come back as null and writes that
+ * cannot be applied are ignored.
+ */
+public interface RoamerAccess {
+
+    /**
+     * Check if an entity is a Roamer.
+     */
+    boolean isRoamer(Entity entity);
+
+    /**
+     * Gets the roamer's race, or null if unavailable.
+     */
+    Object getRace(Entity entity);
+
+    /**
+     * Gets the roamer's inventory, or null if unavailable.
+     */
+    Container getInventory(Entity entity);
+
+    /**
+     * Gets the roamer's home position, or null if unavailable.
+     */
+    BlockPos getHomePos(Entity entity);
+
+    /**
+     * Gets the wanted building block. Roamers returns a Block in 2.1+; older builds may return a BlockState.
+     */
+    Object getWantedBuildingBlock(Entity entity);
+
+    /**
+     * Gets the wanted crafting item. May be an Item or ItemStack depending on Roamers version.
+     */
+    Object getWantedCraftingItem(Entity entity);
+
+    /**
+     * Gets the roamer's current activity enum constant, or null if unavailable.
+     */
+    Object getCurrentActivity(Entity entity);
+
+    /**
+     * Sets the roamer's wanted crafting item.
+     */
+    void setWantedCraftingItem(Entity entity, Item item);
+
+    /**
+     * Resets the roamer's activity to IDLE.
+     */
+    void setActivityIdle(Entity entity);
+
+    /**
+     * Gets the roamer's crafting table position, or null if unavailable.
+     */
+    BlockPos getCraftingTablePos(Entity entity);
+
+    /**
+     * Sets the roamer's crafting table position.
+     */
+    void setCraftingTablePos(Entity entity, BlockPos pos);
+}
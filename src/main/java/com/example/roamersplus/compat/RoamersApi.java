@@ -0,0 +1,134 @@
+package com.example.roamersplus.compat;
+
+import com.example.roamersplus.RoamersPlusMod;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+import net.neoforged.fml.ModContainer;
+import net.neoforged.fml.ModList;
+import net.neoforged.neoforgespi.language.IModInfo;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+
+/**
+ * Entry point for all Roamers mod access.
+ *
+ * At startup this picks a {@link RoamerAccess} implementation: the direct one compiled against
+ * Roamers (see the {@code roamers} source set) when the loaded Roamers version is one it was
+ * built for, otherwise the reflective one, which works against any version.
+ */
+public final class RoamersApi {
+
+    private static final String ROAMERS_MOD_ID = "roamers";
+    private static final String DIRECT_ACCESS_CLASS = "com.example.roamersplus.compat.DirectRoamerAccess";
+    // Roamers versions the direct implementation is compiled for (built against 2.1)
+    private static final String DIRECT_VERSION_RANGE = "[2.1,3.0)";
+
+    private static RoamerAccess access = ReflectiveRoamerAccess.INSTANCE;
+
+    private RoamersApi() {
+    }
+
+    /**
+     * Selects the access implementation. Called once during mod construction.
+     */
+    public static void init() {
+        if (!ReflectiveRoamerAccess.INSTANCE.isAvailable()) {
+            return;
+        }
+        if (!isDirectVersionLoaded()) {
+            RoamersPlusMod.LOGGER.info("Using reflective Roamers integration (unrecognized Roamers version)");
+            return;
+        }
+        // Direct calls link lazily, so only use them when every member was found with the expected signature
+        if (!ReflectiveRoamerAccess.INSTANCE.hasFullApi()) {
+            RoamersPlusMod.LOGGER.info("Using reflective Roamers integration (Roamers API differs from compiled version)");
+            return;
+        }
+        try {
+            access = (RoamerAccess) Class.forName(DIRECT_ACCESS_CLASS).getDeclaredConstructor().newInstance();
+            RoamersPlusMod.LOGGER.info("Using direct Roamers integration");
+        } catch (ReflectiveOperationException | LinkageError e) {
+            RoamersPlusMod.LOGGER.info("Using reflective Roamers integration (direct integration unavailable: {})", e.toString());
+        }
+    }
+
+    /**
+     * Switches to the reflective implementation after a direct call failed to link. Logs only the
+     * first failure.
+     *
+     * @return the reflective implementation, to retry the failed call with
+     */
+    static RoamerAccess fallBackToReflection(LinkageError error) {
+        if (access != ReflectiveRoamerAccess.INSTANCE) {
+            access = ReflectiveRoamerAccess.INSTANCE;
+            RoamersPlusMod.LOGGER.warn("Direct Roamers integration failed to link, using reflection from now on: {}", error.toString());
+        }
+        return ReflectiveRoamerAccess.INSTANCE;
+    }
+
+    private static boolean isDirectVersionLoaded() {
+        try {
+            VersionRange range = VersionRange.createFromVersionSpec(DIRECT_VERSION_RANGE);
+            return ModList.get().getModContainerById(ROAMERS_MOD_ID)
+                .map(ModContainer::getModInfo)
+                .map(IModInfo::getVersion)
+                .map(range::containsVersion)
+                .orElse(false);
+        } catch (InvalidVersionSpecificationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether the core Roamers classes were found.
+     */
+    public static boolean isAvailable() {
+        return ReflectiveRoamerAccess.INSTANCE.isAvailable();
+    }
+
+    public static boolean isRoamer(Entity entity) {
+        return access.isRoamer(entity);
+    }
+
+    public static Object getRace(Entity entity) {
+        return access.getRace(entity);
+    }
+
+    public static Container getInventory(Entity entity) {
+        return access.getInventory(entity);
+    }
+
+    public static BlockPos getHomePos(Entity entity) {
+        return access.getHomePos(entity);
+    }
+
+    public static Object getWantedBuildingBlock(Entity entity) {
+        return access.getWantedBuildingBlock(entity);
+    }
+
+    public static Object getWantedCraftingItem(Entity entity) {
+        return access.getWantedCraftingItem(entity);
+    }
+
+    public static Object getCurrentActivity(Entity entity) {
+        return access.getCurrentActivity(entity);
+    }
+
+    public static void setWantedCraftingItem(Entity entity, Item item) {
+        access.setWantedCraftingItem(entity, item);
+    }
+
+    public static void setActivityIdle(Entity entity) {
+        access.setActivityIdle(entity);
+    }
+
+    public static BlockPos getCraftingTablePos(Entity entity) {
+        return access.getCraftingTablePos(entity);
+    }
+
+    public static void setCraftingTablePos(Entity entity, BlockPos pos) {
+        access.setCraftingTablePos(entity, pos);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.roamersplus.compat;
+
+import com.example.roamersplus.RoamersPlusMod;
+import net.neoforged.fml.ModContainer;
+import net.neoforged.fml.ModList;
+import net.neoforged.fml.event.config.ModConfigEvent;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+
+import java.lang.reflect.Field;
+
+/**
+ * Typed, cached view of the Roamers mod config.
+ *
+ * Values are read reflectively once and then served from plain fields, so hot paths never
+ * touch reflection. The view is refreshed when the server starts and whenever one of the
+ * Roamers configs is reloaded.
+ */
+public final class RoamersConfigView {
+
+    private static final String ROAMERS_MOD_ID = "roamers";
+    private static final String CONFIG_CLASS = "net.caitie.roamers.Config";
+    private static final String MOD_CLASS = "net.caitie.roamers.RoamersMod";
+
+    // Fallback used when the config cannot be read
+    private static final int DEFAULT_TREE_CHECK_RANGE = 15;
+
+    private static volatile int treeCheckRange = DEFAULT_TREE_CHECK_RANGE;
+
+    private RoamersConfigView() {
+    }
+
+    /**
+     * Hooks refreshes into server start and Roamers config reloads.
+     */
+    public static void register() {
+        NeoForge.EVENT_BUS.addListener(RoamersConfigView::onServerStarting);
+
+        // ModConfigEvent is posted on the owning mod's bus, so listen on the Roamers bus directly
+        ModList.get().getModContainerById(ROAMERS_MOD_ID)
+            .map(ModContainer::getEventBus)
+            .ifPresent(bus -> bus.addListener(RoamersConfigView::onConfigReloading));
+    }
+
+    private static void onServerStarting(ServerStartingEvent event) {
+        refresh();
+    }
+
+    private static void onConfigReloading(ModConfigEvent.Reloading event) {
+        refresh();
+    }
+
+    /**
+     * Re-reads all cached values from the Roamers config.
+     */
+    public static void refresh() {
+        treeCheckRange = readInt("treeCheckRange", DEFAULT_TREE_CHECK_RANGE);
+        RoamersPlusMod.LOGGER.debug("Refreshed Roamers config view: treeCheckRange={}", treeCheckRange);
+    }
+
+    /**
+     * Gets the tree check range (radius around home that roamers chop and plant in).
+     */
+    public static int getTreeCheckRange() {
+        return treeCheckRange;
+    }
+
+    private static int readInt(String fieldName, int fallback) {
+        try {
+            Class<?> configClass = Class.forName(CONFIG_CLASS);
+            Field valueField = configClass.getDeclaredField(fieldName);
+            valueField.setAccessible(true);
+
+            // Get the CONFIG instance from RoamersMod
+            Class<?> roamersModClass = Class.forName(MOD_CLASS);
+            Field configField = roamersModClass.getDeclaredField("CONFIG");
+            configField.setAccessible(true);
+            Object configInstance = configField.get(null);
+
+            if (configInstance != null) {
+                Object value = valueField.get(configInstance);
+                if (value instanceof Number number) {
+                    return number.intValue();
+                }
+            }
+        } catch (Exception | LinkageError e) {
+            RoamersPlusMod.LOGGER.debug("Could not read {} from Roamers config, using default: {}", fieldName, e.getMessage());
+        }
+        return fallback;
+    }
+}
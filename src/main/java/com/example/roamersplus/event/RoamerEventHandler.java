@@ -1,9 +1,33 @@
 package com.example.roamersplus.event;
 
 import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.compat.RoamersApi;
+import com.example.roamersplus.compat.RoamersConfigView;
+import com.example.roamersplus.placement.BlockWriteBatch;
+import com.example.roamersplus.placement.HomeSurvey;
+import com.example.roamersplus.placement.HomeSurveys;
+import com.example.roamersplus.placement.LoadedChunkView;
+import com.example.roamersplus.placement.PlacementStats;
+import com.example.roamersplus.placement.SaplingItemIndex;
+import com.example.roamersplus.placement.ScatterSampler;
+import com.example.roamersplus.schedule.BonemealQueue;
+import com.example.roamersplus.schedule.GrowthScheduler;
+import com.example.roamersplus.schedule.MsptGovernor;
+import com.example.roamersplus.schedule.ReplantQueue;
+import com.example.roamersplus.schedule.RoamerJob;
+import com.example.roamersplus.schedule.RoamerScheduler;
+import com.example.roamersplus.schedule.WorkQueue;
+import com.example.roamersplus.state.InventoryTracker;
+import com.example.roamersplus.state.RoamerInventoryIndex;
+import com.example.roamersplus.state.RoamerRegistry;
+import com.example.roamersplus.state.RoamerState;
+import com.example.roamersplus.state.RoamersPlusAttachments;
 import com.example.roamersplus.util.PitySystem;
 import com.example.roamersplus.util.SaplingHelper;
 import com.example.roamersplus.util.SaplingPlacementHelper;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.BlockTags;
@@ -14,7 +38,6 @@ import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.BlockItem;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
@@ -24,21 +47,13 @@ import net.minecraft.world.phys.AABB;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
 import net.neoforged.neoforge.event.level.BlockEvent;
-import net.neoforged.neoforge.event.tick.EntityTickEvent;
 import net.neoforged.neoforge.common.util.FakePlayer;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.*;
-import java.util.Map;
-import java.util.UUID;
-import java.util.WeakHashMap;
-import java.util.HashMap;
-import java.util.Iterator;
 
 /**
  * Event handler that hooks into Roamers mod entities to add our features.
- * Uses reflection to interact with Roamers mod classes since we can't directly depend on them.
+ * Interacts with Roamers mod classes through {@link RoamersApi} since we can't directly depend on them.
  * 
  * Key features added by RoamersPlus:
  * - Initial sapling/bonemeal distribution based on race
@@ -50,187 +65,76 @@ import java.util.Iterator;
  */
 public class RoamerEventHandler {
     
-    // Cache for roamer class detection
-    private static Class<?> roamerEntityClass = null;
-    private static Class<?> abstractCharacterClass = null;
-    private static Class<?> playerLikeCharacterClass = null;
-    private static Class<?> craftingManagerClass = null;
-    private static Class<?> landClass = null;
-    private static boolean classesInitialized = false;
+    private static final int STUCK_THRESHOLD = 30; // ~30 seconds of not moving while wanting to move
     
-    // Track which roamers have been given their initial saplings
-    private static final WeakHashMap<Entity, Boolean> saplingsGiven = new WeakHashMap<>();
+    // Planting: random spots tried per run, and saplings planted per run
+    private static final int PLANT_MAX_ATTEMPTS = 15;
+    private static final int PLANT_MAX_PER_RUN = 2;
+    // Planting leaves the building area around home clear, and keeps new saplings apart
+    private static final int PLANT_INNER_HALF_SIZE = 4;
+    private static final int PLANT_MIN_SPACING = 3;
     
-    // Track which roamers have scattered their saplings
-    private static final WeakHashMap<Entity, Boolean> saplingsScattered = new WeakHashMap<>();
+    // Log breaks this close in time (ticks), and sideways from the stump, belong to the same felled tree
+    private static final int FELL_WINDOW_TICKS = 100;
+    private static final int FELL_SPREAD = 4;
+    // Ticks from the first log of a felled tree to the first replant attempt, so the drops have spawned
+    private static final int REPLANT_DROP_DELAY_TICKS = 40;
     
-    // Track last known positions for replanting logic
-    private static final WeakHashMap<Entity, BlockPos> lastChopPositions = new WeakHashMap<>();
-
-    // Delay replanting checks so sapling drops have time to appear (entity.tickCount when replanting is allowed)
-    private static final WeakHashMap<Entity, Integer> replantStartTicks = new WeakHashMap<>();
-    // Alternation index per roamer for sapling placement (helps enforce multi-type planting)
-    private static final WeakHashMap<Entity, Integer> saplingAltIndex = new WeakHashMap<>();
-    // Pending saplings to bonemeal per roamer
-    private static final WeakHashMap<Entity, List<BlockPos>> pendingBonemeal = new WeakHashMap<>();
-    // Snapshot of sapling counts (used to safely refund saplings when swapping types on place events)
-    private static final WeakHashMap<Entity, Map<Item, Integer>> lastSaplingCounts = new WeakHashMap<>();
+    // Saplings placed per scatter run
+    private static final int SCATTER_SAPLINGS_PER_RUN = 4;
     
-    // Stuck detection: track positions to detect if roamer is stuck
-    private static final WeakHashMap<Entity, BlockPos> lastPositions = new WeakHashMap<>();
-    private static final WeakHashMap<Entity, Integer> stuckCounter = new WeakHashMap<>();
-    private static final int STUCK_THRESHOLD = 30; // ~30 seconds of not moving while wanting to move
-    
-    // Track if we've helped place a crafting table for a roamer
-    private static final WeakHashMap<Entity, Boolean> craftingTablePlaced = new WeakHashMap<>();
-/**
-     * Initialize Roamers mod class references via reflection.
+    /**
+     * Gets the RoamersPlus state attached to a roamer, creating it on first access.
      */
-    private static void initializeClasses() {
-        if (classesInitialized) return;
-        
-        try {
-            roamerEntityClass = Class.forName("net.caitie.roamers.entity.RoamerEntity");
-            abstractCharacterClass = Class.forName("net.caitie.roamers.entity.AbstractCharacter");
-            playerLikeCharacterClass = Class.forName("net.caitie.roamers.entity.PlayerLikeCharacter");
-            
-            // Additional classes for extended functionality
-            try {
-                craftingManagerClass = Class.forName("net.caitie.roamers.util.CraftingManager");
-                landClass = Class.forName("net.caitie.roamers.entity.ai.building.Land");
-            } catch (ClassNotFoundException e) {
-                RoamersPlusMod.LOGGER.debug("Optional Roamers classes not found: {}", e.getMessage());
-            }
-            
-            classesInitialized = true;
-            RoamersPlusMod.LOGGER.info("Successfully loaded Roamers mod classes for integration");
-        } catch (ClassNotFoundException e) {
-            RoamersPlusMod.LOGGER.warn("Could not find Roamers mod classes. RoamersPlus features will be disabled.");
-            classesInitialized = true; // Don't keep trying
-        }
+    private static RoamerState getState(Entity entity) {
+        return entity.getData(RoamersPlusAttachments.ROAMER_STATE);
     }
     
     /**
      * Check if an entity is a Roamer.
      */
     private static boolean isRoamer(Entity entity) {
-        initializeClasses();
-        if (roamerEntityClass == null) return false;
-        return roamerEntityClass.isInstance(entity);
-    }
-    
-    /**
-     * Check if an entity is any PlayerLikeCharacter (Roamer, Bandit, Descendant).
-     */
-    private static boolean isPlayerLikeCharacter(Entity entity) {
-        initializeClasses();
-        if (playerLikeCharacterClass == null) return false;
-        return playerLikeCharacterClass.isInstance(entity);
+        return RoamersApi.isRoamer(entity);
     }
     
     /**
-     * Get the race name of a roamer via reflection.
+     * Get the race name of a roamer.
      */
     private static String getRaceName(Entity entity) {
-        try {
-            if (abstractCharacterClass == null) return null;
-            
-            Method getRaceMethod = abstractCharacterClass.getMethod("getRace");
-            Object race = getRaceMethod.invoke(entity);
-            if (race != null) {
-                return race.toString();
-            }
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.debug("Could not get race for entity: {}", e.getMessage());
-        }
-        return null;
+        Object race = RoamersApi.getRace(entity);
+        return race != null ? race.toString() : null;
     }
     
     /**
-     * Get the roamer's inventory via reflection.
+     * Get the roamer's inventory.
      */
     private static Container getInventory(Entity entity) {
-        try {
-            if (playerLikeCharacterClass == null) return null;
-            
-            Method getInventoryMethod = playerLikeCharacterClass.getMethod("getInventory");
-            Object inventory = getInventoryMethod.invoke(entity);
-            if (inventory instanceof Container) {
-                return (Container) inventory;
-            }
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.debug("Could not get inventory for entity: {}", e.getMessage());
-        }
-        return null;
+        return RoamersApi.getInventory(entity);
     }
     
     /**
-     * Add items to a roamer's inventory via reflection.
+     * Add items to a roamer's inventory.
      */
     private static boolean addToInventory(Entity entity, ItemStack stack) {
         Container inventory = getInventory(entity);
         if (inventory == null || stack.isEmpty()) return false;
         
-        // Find first available slot
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack slotStack = inventory.getItem(i);
-            if (slotStack.isEmpty()) {
-                inventory.setItem(i, stack.copy());
-                return true;
-            } else if (ItemStack.isSameItem(slotStack, stack) && 
-                       slotStack.getCount() < slotStack.getMaxStackSize()) {
-                int canAdd = Math.min(stack.getCount(), slotStack.getMaxStackSize() - slotStack.getCount());
-                slotStack.grow(canAdd);
-                stack.shrink(canAdd);
-                if (stack.isEmpty()) return true;
-            }
-        }
-        return false;
+        // Merge into matching stacks first, then use an empty slot
+        return getState(entity).inventoryIndex.add(inventory, stack);
     }
     
     /**
-     * Get the roamer's home position via reflection.
+     * Get the roamer's home position.
      */
     private static BlockPos getHomePos(Entity entity) {
-        try {
-            if (playerLikeCharacterClass == null) return null;
-            
-            Method getHomePosMethod = playerLikeCharacterClass.getMethod("getHomePos");
-            Object pos = getHomePosMethod.invoke(entity);
-            if (pos instanceof BlockPos) {
-                return (BlockPos) pos;
-            }
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.debug("Could not get home position for entity: {}", e.getMessage());
-        }
-        return null;
+        return RoamersApi.getHomePos(entity);
     }
     
     /**
-     * Get the tree check range from Roamers config via reflection.
+     * Get the tree check range from the cached Roamers config view.
      */
     private static int getTreeCheckRange() {
-        try {
-            Class<?> configClass = Class.forName("net.caitie.roamers.Config");
-            Field treeCheckRangeField = configClass.getDeclaredField("treeCheckRange");
-            treeCheckRangeField.setAccessible(true);
-            
-            // Get the CONFIG instance from RoamersMod
-            Class<?> roamersModClass = Class.forName("net.caitie.roamers.RoamersMod");
-            Field configField = roamersModClass.getDeclaredField("CONFIG");
-            configField.setAccessible(true);
-            Object configInstance = configField.get(null);
-            
-            if (configInstance != null) {
-                Object value = treeCheckRangeField.get(configInstance);
-                if (value instanceof Number) {
-                    return ((Number) value).intValue();
-                }
-            }
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.debug("Could not get treeCheckRange from config, using default: {}", e.getMessage());
-        }
-        return 15; // Default fallback
+        return RoamersConfigView.getTreeCheckRange();
     }
     
     /**
@@ -238,32 +142,24 @@ public class RoamerEventHandler {
      * Returns the needed item, or null if not idle.
      */
     private static Item getNeededItemIfIdle(Entity entity) {
-        try {
-            if (playerLikeCharacterClass == null) return null;
-
-            // Try to get the wanted building block (Roamers returns Block in 2.1+; older builds may return BlockState)
-            Method getWantedBuildingBlock = playerLikeCharacterClass.getMethod("getWantedBuildingBlock");
-            Object wantedBlock = getWantedBuildingBlock.invoke(entity);
+        // Roamers returns Block in 2.1+; older builds may return BlockState
+        Object wantedBlock = RoamersApi.getWantedBuildingBlock(entity);
 
-            if (wantedBlock instanceof BlockState blockState) {
-                return blockState.getBlock().asItem();
-            }
-            if (wantedBlock instanceof Block block) {
-                return block.asItem();
-            }
+        if (wantedBlock instanceof BlockState blockState) {
+            return blockState.getBlock().asItem();
+        }
+        if (wantedBlock instanceof Block block) {
+            return block.asItem();
+        }
 
-            // Also check wanted crafting item (may be Item or ItemStack depending on Roamers version)
-            Method getWantedCraftingItem = playerLikeCharacterClass.getMethod("getWantedCraftingItem");
-            Object wantedItem = getWantedCraftingItem.invoke(entity);
+        // Also check wanted crafting item (may be Item or ItemStack depending on Roamers version)
+        Object wantedItem = RoamersApi.getWantedCraftingItem(entity);
 
-            if (wantedItem instanceof Item item) {
-                return item;
-            }
-            if (wantedItem instanceof ItemStack stack) {
-                return stack.getItem();
-            }
-        } catch (Exception e) {
-            // Method might not exist or other issue - that's fine
+        if (wantedItem instanceof Item item) {
+            return item;
+        }
+        if (wantedItem instanceof ItemStack stack) {
+            return stack.getItem();
         }
         return null;
     }
@@ -273,46 +169,21 @@ public class RoamerEventHandler {
      * We don't want to interfere with roamers when they're busy.
      */
     private static boolean isRoamerWorking(Entity entity) {
-        try {
-            // Check if they have navigation target (moving somewhere)
-            if (entity instanceof net.minecraft.world.entity.Mob mob) {
-                if (mob.getNavigation().isInProgress()) {
-                    return true;
-                }
-            }
-            
-            // Check current activity via reflection
-            if (playerLikeCharacterClass != null) {
-                try {
-                    Method getCurrentActivity = playerLikeCharacterClass.getMethod("getCurrentActivity");
-                    Object activity = getCurrentActivity.invoke(entity);
-                    if (activity != null) {
-                        String activityName = activity.toString();
-                        // IDLE is fine to interrupt, but not other activities
-                        if (!activityName.equals("IDLE")) {
-                            return true;
-                        }
-                    }
-                } catch (NoSuchMethodException e) {
-                    // Method doesn't exist in this version, ignore
-                }
-                
-                // Check if they want a specific building block (actively building)
-                try {
-                    Method getWantedBuildingBlock = playerLikeCharacterClass.getMethod("getWantedBuildingBlock");
-                    Object wanted = getWantedBuildingBlock.invoke(entity);
-                    if (wanted != null) {
-                        return true; // They need materials = actively building
-                    }
-                } catch (NoSuchMethodException e) {
-                    // Method doesn't exist in this version, ignore
-                }
+        // Check if they have navigation target (moving somewhere)
+        if (entity instanceof net.minecraft.world.entity.Mob mob) {
+            if (mob.getNavigation().isInProgress()) {
+                return true;
             }
-        } catch (Exception e) {
-            // If we can't determine, assume not working (fail-safe)
-            RoamersPlusMod.LOGGER.debug("Could not check if roamer is working: {}", e.getMessage());
         }
-        return false;
+        
+        // IDLE is fine to interrupt, but not other activities
+        Object activity = RoamersApi.getCurrentActivity(entity);
+        if (activity != null && !activity.toString().equals("IDLE")) {
+            return true;
+        }
+        
+        // They need materials = actively building
+        return RoamersApi.getWantedBuildingBlock(entity) != null;
     }
     
     // ==================== EVENT HANDLERS ====================
@@ -328,7 +199,8 @@ public class RoamerEventHandler {
             
             if (level.isClientSide()) return;
             if (!isRoamer(entity)) return;
-            if (saplingsGiven.containsKey(entity)) return;
+            RoamerState state = getState(entity);
+            if (state.saplingsGiven) return;
             
             String raceName = getRaceName(entity);
             if (raceName == null) return;
@@ -352,73 +224,84 @@ public class RoamerEventHandler {
                     entity.getName().getString(), SaplingHelper.getBonemealCount(), raceName);
             }
             
-            saplingsGiven.put(entity, true);
+            state.saplingsGiven = true;
         } catch (Exception e) {
             RoamersPlusMod.LOGGER.error("Error in onEntityJoinLevel: {}", e.getMessage());
         }
     }
     
     /**
-     * Handle entity tick - scatter saplings before excavation and run pity system.
+     * Per-tick roamer work - scatter saplings before excavation and run pity system.
+     * Called by {@link RoamerTickDriver} for each registered roamer. Each job runs on its own
+     * interval, offset by the roamer's schedule phase so roamers don't all work on the same tick.
      */
-    @SubscribeEvent
-    public static void onEntityTick(EntityTickEvent.Post event) {
-        try {
-            Entity entity = event.getEntity();
-            
-            if (entity.level().isClientSide()) return;
-            if (!isRoamer(entity)) return;
-            
-            // Only process every 20 ticks (1 second) to reduce overhead
-            if (entity.tickCount % 20 != 0) return;
-            
-            // Handle sapling scattering (before they start building)
-            handleSaplingScattering(entity);
+    public static void tickRoamer(Entity entity, RoamerState state) {
+        long gameTime = entity.level().getGameTime();
+        
+        // Handle sapling scattering (before they start building)
+        if (!state.saplingsScattered && RoamerScheduler.shouldRun(RoamerJob.SCATTER, state, gameTime)) {
+            WorkQueue.submitForRoamer(entity, state, RoamerJob.SCATTER, WorkQueue.Priority.SCATTER,
+                () -> handleSaplingScattering(entity, state));
+        }
 
-            // Snapshot sapling counts and process any queued bonemeal for saplings this roamer placed.
-            Container invForBonemeal = getInventory(entity);
-            if (invForBonemeal != null) {
-                updateSaplingCountSnapshot(entity, invForBonemeal);
-                processBonemealQueue(entity, entity.level(), invForBonemeal);
+        // Checked once per job; a due job is counted below only if it actually runs
+        boolean pollDue = RoamerScheduler.isDue(RoamerJob.INVENTORY_POLL, state, gameTime);
+        boolean rotateDue = RoamerScheduler.isDue(RoamerJob.ROTATE_SAPLINGS, state, gameTime);
+        boolean plantDue = RoamerScheduler.isDue(RoamerJob.PLANT, state, gameTime);
+        boolean craftingDue = RoamerScheduler.isDue(RoamerJob.CRAFTING_TABLE, state, gameTime);
+        
+        if (pollDue || rotateDue || plantDue || craftingDue) {
+            Container inventory = getInventory(entity);
+            if (inventory != null) {
+                // Publish inventory changes; not throttled, so replanting and bonemeal still hear
+                // about pickups while their own jobs are stretched or suspended
+                if (pollDue) {
+                    RoamerScheduler.count(RoamerJob.INVENTORY_POLL);
+                    state.inventoryTracker.poll(entity, state, inventory);
+                }
                 
                 // Rotate saplings in inventory every ~30 seconds so different types get used
-                if (entity.tickCount % 600 == 0) {
-                    rotateSaplingsInInventory(entity, invForBonemeal);
+                if (rotateDue) {
+                    RoamerScheduler.count(RoamerJob.ROTATE_SAPLINGS);
+                    rotateSaplingsInInventory(entity, state, inventory);
                 }
                 
                 // Periodically plant saplings from inventory (every ~10 seconds)
                 // This ensures roamers actively use ALL their sapling types over time
-                if (entity.tickCount % 200 == 0) {
-                    plantSaplingsFromInventory(entity, entity.level(), invForBonemeal);
+                if (plantDue) {
+                    RoamerScheduler.count(RoamerJob.PLANT);
+                    WorkQueue.submitForRoamer(entity, state, RoamerJob.PLANT, WorkQueue.Priority.PLANT,
+                        new PlantJob(entity, state, inventory));
                 }
                 
                 // Check if roamer needs a crafting table and help place one
-                if (entity.tickCount % 100 == 0) {
-                    helpWithCraftingTable(entity, entity.level(), invForBonemeal);
+                if (craftingDue) {
+                    RoamerScheduler.count(RoamerJob.CRAFTING_TABLE);
+                    WorkQueue.submitForRoamer(entity, state, RoamerJob.CRAFTING_TABLE, WorkQueue.Priority.CRAFTING_TABLE, () -> {
+                        helpWithCraftingTable(entity, state, entity.level(), inventory);
+                        return true;
+                    });
                 }
             }
+        }
 
-            // Handle stuck detection and recovery
-            handleStuckDetection(entity);
+        // Handle stuck detection and recovery
+        if (RoamerScheduler.shouldRun(RoamerJob.STUCK_CHECK, state, gameTime)) {
+            handleStuckDetection(entity, state);
+        }
 
-            // Handle replanting after chopping
-            if (lastChopPositions.containsKey(entity)) {
-                Integer startTick = replantStartTicks.get(entity);
-                if (startTick == null || entity.tickCount >= startTick) {
-                    handleReplanting(entity, entity.level());
-                }
-            }
-            
-            // Handle pity system
-            handlePitySystem(entity);
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.error("Error in onEntityTick: {}", e.getMessage());
+        // Handle pity system
+        if (RoamerScheduler.shouldRun(RoamerJob.PITY, state, gameTime)) {
+            handlePitySystem(entity, state);
         }
     }
     
     /**
-     * Actively plants saplings from the roamer's inventory around their home.
-     * Plants up to 2 saplings per call, using the first sapling type found (which rotates over time).
+     * Resumable planting job: plants saplings from the roamer's inventory on well-spaced random
+     * spots around their home, picked from the home survey. Plants up to 2 saplings per job, using
+     * the first sapling type found (which rotates over time).
+     * The first step only runs the checks below and fetches the survey; each later step tries one
+     * spot, so no step costs more than a single placement.
      * 
      * Safety checks:
      * - Only plants if roamer has established home
@@ -426,154 +309,152 @@ public class RoamerEventHandler {
      * - Respects spacing to avoid clustering saplings
      * - Limits bonemeal queue size to prevent memory issues
      */
-    private static void plantSaplingsFromInventory(Entity entity, Level level, Container inventory) {
-        if (level.isClientSide()) return;
+    private static final class PlantJob implements WorkQueue.WorkUnit {
+        private final Entity entity;
+        private final RoamerState state;
+        private final Container inventory;
+        private ServerLevel level;
+        private HomeSurvey survey;
+        private ScatterSampler sampler;
+        private int saplingSlot;
+        private ItemStack saplingStack;
+        private Block saplingBlock;
+        private int maxToPlant;
+        private int planted;
+        private int attempt;
+        private int skipped;
         
-        // Safety: Don't plant if roamer is actively working/moving
-        if (isRoamerWorking(entity)) return;
-        
-        BlockPos homePos = getHomePos(entity);
-        if (homePos == null || homePos.equals(BlockPos.ZERO)) return;
-        
-        // Safety: Don't plant if roamer is too far from home (they might be exploring/gathering)
-        double distanceFromHome = entity.blockPosition().distSqr(homePos);
-        if (distanceFromHome > 400) return; // More than 20 blocks away
-        
-        // Safety: Limit pending bonemeal queue size to prevent memory bloat
-        List<BlockPos> bonemealQueue = pendingBonemeal.get(entity);
-        if (bonemealQueue != null && bonemealQueue.size() > 50) {
-            // Too many pending - let them grow naturally or wait for bonemealing to catch up
-            return;
+        PlantJob(Entity entity, RoamerState state, Container inventory) {
+            this.entity = entity;
+            this.state = state;
+            this.inventory = inventory;
         }
         
-        // Find the first sapling stack in inventory (rotation ensures variety)
-        ItemStack saplingStack = ItemStack.EMPTY;
-        int saplingSlot = -1;
-        Block saplingBlock = null;
-        
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack stack = inventory.getItem(i);
-            if (stack.isEmpty()) continue;
+        @Override
+        public boolean run() {
+            if (survey == null) {
+                return !start();
+            }
             
-            Item item = stack.getItem();
-            if (item instanceof BlockItem blockItem) {
-                if (blockItem.getBlock() instanceof SaplingBlock) {
-                    saplingStack = stack;
-                    saplingSlot = i;
-                    saplingBlock = blockItem.getBlock();
-                    break;
-                }
+            // The stack may have moved or been used up since the last step
+            boolean sameStack = inventory.getItem(saplingSlot) == saplingStack;
+            if (sameStack && !saplingStack.isEmpty() && planted < maxToPlant
+                    && attempt < PLANT_MAX_ATTEMPTS && sampler.next()) {
+                attempt++;
+                tryPlant();
+                return false;
             }
+            
+            PlacementStats.record(PlacementStats.Scan.PLANT, attempt, skipped);
+            // Update inventory if stack is empty
+            if (sameStack && saplingStack.isEmpty()) {
+                inventory.setItem(saplingSlot, ItemStack.EMPTY);
+            }
+            return true;
         }
         
-        if (saplingStack.isEmpty() || saplingBlock == null) return;
-        
-        // Get tree check range for placement radius
-        int radius = getTreeCheckRange();
-        
-        // Try to plant up to 2 saplings per tick
-        int planted = 0;
-        int maxToPlant = Math.min(2, saplingStack.getCount());
-        
-        // Generate random positions around home
-        java.util.Random random = new java.util.Random();
-        
-        for (int attempt = 0; attempt < 15 && planted < maxToPlant; attempt++) {
-            // Random position within radius, but not too close to center (leave building area clear)
-            int x = random.nextInt(radius * 2 + 1) - radius;
-            int z = random.nextInt(radius * 2 + 1) - radius;
+        /**
+         * Checks whether the roamer should plant now and prepares the job.
+         * 
+         * @return true if there is something to plant
+         */
+        private boolean start() {
+            if (!(entity.level() instanceof ServerLevel serverLevel)) return false;
             
-            // Skip if too close to center (building area) or outside circular radius
-            if ((Math.abs(x) <= 4 && Math.abs(z) <= 4) || (x * x + z * z > radius * radius)) {
-                continue;
+            // Safety: Don't plant if roamer is actively working/moving
+            if (isRoamerWorking(entity)) return false;
+            
+            BlockPos homePos = getHomePos(entity);
+            if (homePos == null || homePos.equals(BlockPos.ZERO)) return false;
+            
+            // Safety: Don't plant if roamer is too far from home (they might be exploring/gathering)
+            double distanceFromHome = entity.blockPosition().distSqr(homePos);
+            if (distanceFromHome > 400) return false; // More than 20 blocks away
+            
+            // Safety: Limit pending bonemeal queue size to prevent memory bloat
+            if (BonemealQueue.countFor(serverLevel, entity) > 50) {
+                // Too many pending - let them grow naturally or wait for bonemealing to catch up
+                return false;
             }
             
-            BlockPos basePos = homePos.offset(x, 0, z);
-            BlockPos validPos = SaplingPlacementHelper.findValidSaplingPositionPublic(level, basePos);
+            // First sapling stack in inventory (rotation ensures variety)
+            int slot = state.inventoryIndex.firstSlot(inventory, RoamerInventoryIndex.Kind.SAPLING);
+            if (slot < 0) return false;
             
-            if (validPos != null) {
-                // Safety: Check there isn't already a sapling nearby (prevent clustering)
-                if (hasSaplingNearby(level, validPos, 2)) {
-                    continue;
-                }
-                
-                // Check there isn't already a sapling or tree here
-                BlockState existingState = level.getBlockState(validPos);
-                if (existingState.isAir() || existingState.canBeReplaced()) {
-                    level.setBlock(validPos, saplingBlock.defaultBlockState(), 3);
-                    saplingStack.shrink(1);
-                    planted++;
-                    
-                    // Queue for bonemeal
-                    queueForBonemeal(entity, validPos);
-                    
-                    RoamersPlusMod.LOGGER.debug("Roamer {} planted {} at {}", 
-                        entity.getName().getString(), saplingBlock.getName().getString(), validPos);
-                }
+            int radius = getTreeCheckRange();
+            HomeSurvey homeSurvey = HomeSurveys.get(serverLevel, homePos, radius);
+            if (homeSurvey == null) {
+                HomeSurveys.request(serverLevel, homePos, radius, entity, state, RoamerJob.PLANT, WorkQueue.Priority.PLANT);
+                return false;
             }
+            
+            level = serverLevel;
+            survey = homeSurvey;
+            sampler = new ScatterSampler(homeSurvey.getRadius(), PLANT_INNER_HALF_SIZE, PLANT_MIN_SPACING, new java.util.Random());
+            saplingSlot = slot;
+            saplingStack = inventory.getItem(slot);
+            saplingBlock = ((BlockItem) saplingStack.getItem()).getBlock();
+            maxToPlant = Math.min(PLANT_MAX_PER_RUN, saplingStack.getCount());
+            return true;
         }
         
-        // Update inventory if stack is empty
-        if (saplingSlot >= 0 && saplingStack.isEmpty()) {
-            inventory.setItem(saplingSlot, ItemStack.EMPTY);
-        }
-    }
-    
-    /**
-     * Checks if there's already a sapling within the given radius of a position.
-     * Used to prevent clustering saplings too close together.
-     */
-    private static boolean hasSaplingNearby(Level level, BlockPos pos, int radius) {
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                for (int y = -2; y <= 2; y++) {
-                    BlockPos checkPos = pos.offset(x, y, z);
-                    BlockState state = level.getBlockState(checkPos);
-                    if (state.getBlock() instanceof SaplingBlock) {
-                        return true;
-                    }
-                    // Also check for logs (existing trees)
-                    if (state.is(BlockTags.LOGS)) {
-                        return true;
-                    }
-                }
+        /**
+         * Tries the sampler's current spot. Spots next to an existing sapling or log are skipped
+         * to prevent clustering.
+         */
+        private void tryPlant() {
+            int dx = sampler.x();
+            int dz = sampler.z();
+            if (survey.isUnloaded(dx, dz)) {
+                skipped++;
+                return;
             }
+            if (!survey.canPlant(dx, dz) || survey.isNearTree(dx, dz)) return;
+            
+            // Re-check the surveyed spot against the live world
+            BlockPos pos = survey.getPlantPos(dx, dz);
+            LoadedChunkView view = new LoadedChunkView(level);
+            if (!view.isLoaded(pos)) {
+                skipped++;
+                return;
+            }
+            if (!SaplingPlacementHelper.isValidSaplingSpot(view, pos)) return;
+            
+            sampler.accept();
+            if (!BlockWriteBatch.placeOne(level, pos, saplingBlock.defaultBlockState())) return;
+            saplingStack.shrink(1);
+            planted++;
+            
+            // Queue for bonemeal
+            queueForBonemeal(level, entity, pos);
+            
+            RoamersPlusMod.LOGGER.debug("Roamer {} planted {} at {}", 
+                entity.getName().getString(), saplingBlock.getName().getString(), pos);
         }
-        return false;
     }
     
     /**
      * Rotates sapling stacks in the roamer's inventory so different types get used.
      * This works around the base Roamers mod always selecting the first matching sapling.
      */
-    private static void rotateSaplingsInInventory(Entity entity, Container inventory) {
-        // Find all sapling slots and their types
-        List<Integer> saplingSlots = new ArrayList<>();
-        List<ItemStack> saplingStacks = new ArrayList<>();
-        
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack stack = inventory.getItem(i);
-            if (stack.isEmpty()) continue;
-            
-            Item item = stack.getItem();
-            if (item instanceof BlockItem blockItem) {
-                if (blockItem.getBlock() instanceof SaplingBlock) {
-                    saplingSlots.add(i);
-                    saplingStacks.add(stack.copy());
-                }
-            }
-        }
+    private static void rotateSaplingsInInventory(Entity entity, RoamerState state, Container inventory) {
+        // Find all sapling slots
+        IntList saplingSlots = state.inventoryIndex.slots(inventory, RoamerInventoryIndex.Kind.SAPLING);
         
         // Need at least 2 different sapling slots to rotate
         if (saplingSlots.size() < 2) return;
         
-        // Rotate: move first to end, shift others up
+        // Rotate: move first to end, shift others up (every slot still holds a sapling afterwards)
+        List<ItemStack> saplingStacks = new ArrayList<>(saplingSlots.size());
+        for (int i = 0; i < saplingSlots.size(); i++) {
+            saplingStacks.add(inventory.getItem(saplingSlots.getInt(i)).copy());
+        }
         ItemStack first = saplingStacks.remove(0);
         saplingStacks.add(first);
         
         // Apply rotated stacks back to inventory
         for (int i = 0; i < saplingSlots.size(); i++) {
-            inventory.setItem(saplingSlots.get(i), saplingStacks.get(i));
+            inventory.setItem(saplingSlots.getInt(i), saplingStacks.get(i));
         }
         
         RoamersPlusMod.LOGGER.debug("Rotated {} sapling stacks in {}'s inventory", 
@@ -582,100 +463,132 @@ public class RoamerEventHandler {
     
     /**
      * Scatter saplings before roamer starts excavating.
-     * Uses alternating placement to distribute different sapling types evenly.
-     * Also applies bonemeal to the placed saplings.
+     * Scatter positions are picked from the home survey and reserved there; after that each run
+     * places a few saplings, so a scatter is spread over many runs. Progress is kept in the
+     * roamer's state, and the job pauses with the rest of the throttled work under load.
+     * Planning and the first placements are separate work steps, so a run never does both at once.
+     * Placed saplings are queued for bonemeal, which is applied by the bonemeal job on later ticks.
+     * 
+     * @return true if this run is finished, false to place the first saplings on the next step
      */
-    private static void handleSaplingScattering(Entity entity) {
-        if (saplingsScattered.getOrDefault(entity, false)) return;
+    private static boolean handleSaplingScattering(Entity entity, RoamerState state) {
+        if (state.saplingsScattered) return true;
+        if (!(entity.level() instanceof ServerLevel serverLevel)) return true;
+        
+        if (state.hasScatterInProgress()) {
+            continueScatter(entity, state, serverLevel);
+            return true;
+        }
         
         BlockPos homePos = getHomePos(entity);
-        if (homePos == null || homePos.equals(BlockPos.ZERO)) return;
+        if (homePos == null || homePos.equals(BlockPos.ZERO)) return true;
+        
+        // Home position is set - plan the scatter now
+        int treeCheckRange = getTreeCheckRange();
+        HomeSurvey survey = HomeSurveys.get(serverLevel, homePos, treeCheckRange);
+        if (survey == null) {
+            HomeSurveys.request(serverLevel, homePos, treeCheckRange, entity, state, RoamerJob.SCATTER, WorkQueue.Priority.SCATTER);
+            return true;
+        }
         
-        // Home position is set - scatter saplings now
+        LongArrayList candidates = SaplingPlacementHelper.planScatterPositions(survey);
+        if (candidates.isEmpty()) {
+            // Nowhere to scatter around this home
+            state.finishScatter();
+            return true;
+        }
+        
+        RoamersPlusMod.LOGGER.info("Roamer {} scattering saplings on {} spots around {}", 
+            entity.getName().getString(), candidates.size(), homePos);
+        state.scatterTargets.addAll(candidates);
+        state.scatterPlaced = 0;
+        return false;
+    }
+    
+    /**
+     * Places the next few saplings of an unfinished scatter.
+     */
+    private static void continueScatter(Entity entity, RoamerState state, ServerLevel level) {
         Container inventory = getInventory(entity);
         if (inventory == null) return;
         
-        int treeCheckRange = getTreeCheckRange();
-        
         // Collect all sapling stacks from inventory
-        List<ItemStack> saplingStacks = new ArrayList<>();
-        List<Integer> saplingSlots = new ArrayList<>();
-        ItemStack bonemealStack = ItemStack.EMPTY;
-        int bonemealSlot = -1;
-        
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack stack = inventory.getItem(i);
-            if (stack.isEmpty()) continue;
-            
-            Item item = stack.getItem();
-            
-            // Check for bonemeal
-            if (item == net.minecraft.world.item.Items.BONE_MEAL) {
-                bonemealStack = stack;
-                bonemealSlot = i;
-                continue;
-            }
-            
-            // Check for saplings
-            if (item instanceof net.minecraft.world.item.BlockItem blockItem) {
-                if (blockItem.getBlock() instanceof net.minecraft.world.level.block.SaplingBlock) {
-                    saplingStacks.add(stack);
-                    saplingSlots.add(i);
-                }
-            }
+        IntList saplingSlots = new IntArrayList(state.inventoryIndex.slots(inventory, RoamerInventoryIndex.Kind.SAPLING));
+        List<ItemStack> saplingStacks = new ArrayList<>(saplingSlots.size());
+        for (int i = 0; i < saplingSlots.size(); i++) {
+            saplingStacks.add(inventory.getItem(saplingSlots.getInt(i)));
         }
         
         if (!saplingStacks.isEmpty()) {
-            RoamersPlusMod.LOGGER.info("Roamer {} scattering {} sapling types with {} bonemeal around {}", 
-                entity.getName().getString(), saplingStacks.size(), 
-                bonemealStack.isEmpty() ? 0 : bonemealStack.getCount(), homePos);
+            int maxToPlace = Math.min(SCATTER_SAPLINGS_PER_RUN,
+                SaplingPlacementHelper.MAX_SCATTER_SAPLINGS - state.scatterPlaced);
+            LongArrayList placed = new LongArrayList();
             
-            // Use alternating scatter method with bonemeal
-            SaplingPlacementHelper.scatterSaplingsAlternating(
-                entity.level(), homePos, treeCheckRange, saplingStacks, bonemealStack
+            // Use alternating scatter method, continuing the alternation from the last run
+            state.saplingAltIndex = SaplingPlacementHelper.scatterSaplingsStep(
+                level, state.scatterTargets, saplingStacks, maxToPlace, getSaplingAltIndex(state), placed
             );
             
+            for (int i = 0; i < placed.size(); i++) {
+                queueForBonemeal(level, entity, BlockPos.of(placed.getLong(i)));
+            }
+            state.scatterPlaced += placed.size();
+            
             // Update inventory with remaining saplings (stacks were modified in place)
+            boolean hasSaplingsLeft = false;
             for (int i = 0; i < saplingStacks.size(); i++) {
                 ItemStack stack = saplingStacks.get(i);
-                int slot = saplingSlots.get(i);
+                int slot = saplingSlots.getInt(i);
                 if (stack.isEmpty()) {
                     inventory.setItem(slot, ItemStack.EMPTY);
+                } else {
+                    hasSaplingsLeft = true;
                 }
             }
             
-            // Update bonemeal slot if it was used
-            if (bonemealSlot >= 0 && bonemealStack.isEmpty()) {
-                inventory.setItem(bonemealSlot, ItemStack.EMPTY);
+            // Keep going while there are saplings, targets and room under the limit
+            if (hasSaplingsLeft
+                    && state.hasScatterInProgress()
+                    && state.scatterPlaced < SaplingPlacementHelper.MAX_SCATTER_SAPLINGS) {
+                return;
             }
         }
         
-        saplingsScattered.put(entity, true);
-        RoamersPlusMod.LOGGER.debug("Roamer {} finished scattering saplings around home at {}", 
-            entity.getName().getString(), homePos);
+        RoamersPlusMod.LOGGER.debug("Roamer {} finished scattering {} saplings around home", 
+            entity.getName().getString(), state.scatterPlaced);
+        
+        // Hand the unused spots back to planting
+        BlockPos homePos = getHomePos(entity);
+        HomeSurvey survey = homePos != null ? HomeSurveys.get(level, homePos, getTreeCheckRange()) : null;
+        if (survey != null) {
+            for (int i = 0; i < state.scatterTargets.size(); i++) {
+                survey.release(BlockPos.of(state.scatterTargets.getLong(i)));
+            }
+        }
+        state.finishScatter();
     }
     
     /**
      * Handle pity system for idle roamers.
      */
-    private static void handlePitySystem(Entity entity) {
+    private static void handlePitySystem(Entity entity, RoamerState state) {
         if (!(entity instanceof LivingEntity livingEntity)) return;
         
         // Check if roamer is working
         if (isRoamerWorking(entity)) {
-            PitySystem.clearIdleState(livingEntity);
+            PitySystem.clearIdleState(state);
             return;
         }
         
         // Check if they need an item
         Item neededItem = getNeededItemIfIdle(entity);
         if (neededItem == null) {
-            PitySystem.clearIdleState(livingEntity);
+            PitySystem.clearIdleState(state);
             return;
         }
         
         // Track idle state and potentially grant items
-        PitySystem.trackIdleRoamer(livingEntity, neededItem, (e, stack) -> {
+        PitySystem.trackIdleRoamer(livingEntity, state, neededItem, (e, stack) -> {
             addToInventory(e, stack);
             RoamersPlusMod.LOGGER.info("Pity system granted {} x{} to idle roamer {}", 
                 stack.getItem().getDescriptionId(), stack.getCount(), e.getName().getString());
@@ -696,252 +609,342 @@ public class RoamerEventHandler {
             // Only react to Roamers' internal fake player block-breaking (avoid triggering off real players)
             if (!(breaker instanceof FakePlayer)) return;
             
-            // Check if a roamer broke this block (they trigger as "players" in some contexts)
-            // We need to find nearby roamers who might be chopping
+            // Only logs of trees we know a sapling for can be replanted
             BlockState state = event.getState();
             if (!state.is(BlockTags.LOGS)) return;
+            Item saplingItem = SaplingPlacementHelper.getSaplingForLog(state.getBlock());
+            if (saplingItem == null) return;
             
             BlockPos pos = event.getPos();
-            Level level = (Level) event.getLevel();
+            if (!(event.getLevel() instanceof ServerLevel level)) return;
             
-            // Find roamers near this block break
-            AABB searchBox = new AABB(pos).inflate(5);
-            List<Entity> nearbyEntities = level.getEntities(null, searchBox);
+            // Find the roamer that chopped this tree
+            Entity roamer = findChoppingRoamer(level, breaker, pos);
+            if (roamer == null) return;
             
-            for (Entity entity : nearbyEntities) {
-                if (!isRoamer(entity)) continue;
-                
-                // This roamer might have chopped this tree
-                Block logBlock = state.getBlock();
-                Item saplingItem = SaplingPlacementHelper.getSaplingForLog(logBlock);
-                
-                if (saplingItem != null) {
-                    // Store the chop position for replanting
-                    lastChopPositions.put(entity, pos);
-                    
-                    // Schedule replanting check
-                    scheduleReplantCheck(entity, pos, saplingItem, level);
+            // Group the log with the tree the roamer is felling, or start a new one
+            RoamerState roamerState = getState(roamer);
+            if (isSameTree(roamer, roamerState, pos, saplingItem)) {
+                if (pos.getY() < BlockPos.getY(roamerState.treeStumpPos)) {
+                    roamerState.treeStumpPos = pos.asLong();
                 }
-                break;
+            } else {
+                roamerState.treeStumpPos = pos.asLong();
+                roamerState.treeSapling = saplingItem;
+                
+                // Schedule replanting check
+                scheduleReplantCheck(roamer, level);
             }
+            roamerState.treeLastLogPos = pos.asLong();
+            roamerState.treeLastBreakTick = roamer.tickCount;
         } catch (Exception e) {
             RoamersPlusMod.LOGGER.error("Error in onBlockBreak: {}", e.getMessage());
         }
     }
     
     /**
-     * Schedule a check for replanting after sapling drops.
+     * Finds the roamer a fake player broke a block for. The roamer the fake player was last seen
+     * acting for is used if it is still near the block; otherwise nearby entities are searched
+     * (roamers trigger as "players" in some contexts) and the fake player is remembered as theirs.
      */
-    private static void scheduleReplantCheck(Entity roamer, BlockPos chopPos, Item saplingItem, Level level) {
-        // Give the world a moment to spawn item drops before we search for saplings to replant.
-        // We schedule the first eligible check a couple seconds later, then handleReplanting will run from the tick event.
-        replantStartTicks.put(roamer, roamer.tickCount + 40); // ~2 seconds
+    private static Entity findChoppingRoamer(ServerLevel level, Entity fakePlayer, BlockPos pos) {
+        AABB searchBox = new AABB(pos).inflate(5);
+        
+        Entity owner = RoamerRegistry.getFakePlayerOwner(level, fakePlayer);
+        if (owner != null && owner.getBoundingBox().intersects(searchBox)) {
+            return owner;
+        }
+        
+        // Fallback: find roamers near this block break
+        for (Entity entity : level.getEntities(null, searchBox)) {
+            if (!isRoamer(entity)) continue;
+            RoamerRegistry.setFakePlayerOwner(level, fakePlayer, entity);
+            return entity;
+        }
+        return null;
     }
     
     /**
-     * Called periodically to handle replanting logic for roamers.
+     * Checks whether a broken log belongs to the tree the roamer is felling: same wood, broken
+     * soon after the previous log, and next to it or near the stump's column.
      */
-    public static void handleReplanting(Entity entity, Level level) {
-        if (!isRoamer(entity)) return;
+    private static boolean isSameTree(Entity roamer, RoamerState state, BlockPos pos, Item saplingItem) {
+        if (state.treeStumpPos == RoamerState.NO_POS || state.treeSapling != saplingItem) return false;
+        if (roamer.tickCount - state.treeLastBreakTick > FELL_WINDOW_TICKS) return false;
         
-        BlockPos lastChopPos = lastChopPositions.get(entity);
-        if (lastChopPos == null) return;
+        long last = state.treeLastLogPos;
+        if (Math.abs(pos.getX() - BlockPos.getX(last)) <= 1 && Math.abs(pos.getY() - BlockPos.getY(last)) <= 1
+                && Math.abs(pos.getZ() - BlockPos.getZ(last)) <= 1) {
+            return true;
+        }
+        long stump = state.treeStumpPos;
+        return Math.abs(pos.getX() - BlockPos.getX(stump)) <= FELL_SPREAD
+            && Math.abs(pos.getZ() - BlockPos.getZ(stump)) <= FELL_SPREAD;
+    }
+    
+    /**
+     * Creates the roamer's replant job for the tree it started felling. The first attempt waits
+     * {@link #REPLANT_DROP_DELAY_TICKS} for the drops to spawn; {@link #tickLevel} hands due
+     * attempts to the work queue. The stump and sapling are read from the roamer's state then.
+     */
+    private static void scheduleReplantCheck(Entity roamer, ServerLevel level) {
+        ReplantQueue.schedule(level, roamer, level.getGameTime() + REPLANT_DROP_DELAY_TICKS);
+    }
+    
+    /**
+     * One replanting attempt at the stump of the tree a roamer felled, in two work steps: dropped
+     * saplings near the stump first, then the roamer's inventory. Both prefer the felled tree's
+     * own sapling.
+     */
+    private static final class ReplantAttempt implements WorkQueue.WorkUnit {
+        private final ServerLevel level;
+        private final ReplantQueue.Job job;
+        private final Entity roamer;
+        private boolean groundChecked;
         
-        // Look for nearby sapling item entities
-        AABB searchBox = new AABB(lastChopPos).inflate(3);
-        List<ItemEntity> items = level.getEntitiesOfClass(ItemEntity.class, searchBox);
+        ReplantAttempt(ServerLevel level, ReplantQueue.Job job, Entity roamer) {
+            this.level = level;
+            this.job = job;
+            this.roamer = roamer;
+        }
         
-        for (ItemEntity itemEntity : items) {
-            ItemStack stack = itemEntity.getItem();
-            Item item = stack.getItem();
+        @Override
+        public boolean run() {
+            // Superseded between steps: the stump and sapling in the state belong to the new tree
+            if (job.isCancelled()) return true;
             
-            if (item instanceof net.minecraft.world.item.BlockItem blockItem) {
-                if (blockItem.getBlock() instanceof net.minecraft.world.level.block.SaplingBlock) {
-                    // Check if roamer can reach this item
-                    double distance = entity.distanceToSqr(itemEntity);
-                    if (distance > 25) { // More than 5 blocks away - too far, give up
-                        lastChopPositions.remove(entity);
-                        replantStartTicks.remove(entity);
-                        return;
-                    }
-                    
-                    // Try to replant
-                    if (SaplingPlacementHelper.replantAtStump(level, lastChopPos, item)) {
-                        // Success! Remove one sapling from the dropped stack
-                        stack.shrink(1);
-                        if (stack.isEmpty()) {
-                            itemEntity.discard();
-                        }
-                        
-                        lastChopPositions.remove(entity);
-                        replantStartTicks.remove(entity);
-                        RoamersPlusMod.LOGGER.debug("Roamer replanted {} at {}", 
-                            item.getDescriptionId(), lastChopPos);
-                        return;
-                    }
-                }
+            ReplantQueue.Result result;
+            if (roamer.isRemoved() || !isRoamer(roamer)) {
+                result = ReplantQueue.Result.ROAMER_GONE;
+            } else if (!groundChecked) {
+                groundChecked = true;
+                result = replantFromGround(roamer, getState(roamer), level);
+                if (result == null) return false;
+            } else {
+                result = replantFromInventory(roamer, getState(roamer), level);
             }
+            // A null result leaves the job to try again later
+            ReplantQueue.finish(level, job, result, level.getGameTime());
+            return true;
         }
+    }
+    
+    /**
+     * Replants the stump from a sapling dropped near it.
+     * 
+     * @return how the replant job ended, or null if no dropped sapling was used
+     */
+    private static ReplantQueue.Result replantFromGround(Entity entity, RoamerState state, ServerLevel serverLevel) {
+        BlockPos stumpPos = BlockPos.of(state.treeStumpPos);
         
-        // Check if roamer has saplings in inventory to replant
-        Container inventory = getInventory(entity);
-        if (inventory != null) {
-            for (int i = 0; i < inventory.getContainerSize(); i++) {
-                ItemStack stack = inventory.getItem(i);
-                if (stack.isEmpty()) continue;
-                
+        // Look for nearby sapling item entities
+        AABB searchBox = new AABB(stumpPos).inflate(3);
+        // Local, so no item entities are held once the attempt is over
+        List<ItemEntity> items = new ArrayList<>();
+        SaplingItemIndex.collect(serverLevel, searchBox, items);
+        
+        // The felled tree's own sapling first, then any other
+        for (int pass = 0; pass < 2; pass++) {
+            for (ItemEntity itemEntity : items) {
+                ItemStack stack = itemEntity.getItem();
                 Item item = stack.getItem();
-                if (item instanceof net.minecraft.world.item.BlockItem blockItem) {
-                    if (blockItem.getBlock() instanceof net.minecraft.world.level.block.SaplingBlock) {
-                        if (SaplingPlacementHelper.replantAtStump(level, lastChopPos, item)) {
-                            stack.shrink(1);
-                            lastChopPositions.remove(entity);
-                        replantStartTicks.remove(entity);
-                            RoamersPlusMod.LOGGER.debug("Roamer replanted {} from inventory at {}", 
-                                item.getDescriptionId(), lastChopPos);
-                            return;
-                        }
+                if ((item == state.treeSapling) != (pass == 0)) continue;
+                
+                // Check if roamer can reach this item
+                double distance = entity.distanceToSqr(itemEntity);
+                if (distance > 25) { // More than 5 blocks away - too far, give up
+                    return ReplantQueue.Result.OUT_OF_REACH;
+                }
+                
+                // Try to replant
+                if (SaplingPlacementHelper.replantAtStump(serverLevel, stumpPos, item)) {
+                    // Success! Remove one sapling from the dropped stack
+                    stack.shrink(1);
+                    if (stack.isEmpty()) {
+                        itemEntity.discard();
                     }
+                    
+                    RoamersPlusMod.LOGGER.debug("Roamer replanted {} at {}", 
+                        item.getDescriptionId(), stumpPos);
+                    return ReplantQueue.Result.REPLANTED;
                 }
             }
         }
-        
-        // If we've been trying for too long, give up (don't freeze the roamer)
-        // This is handled by natural timeout - if no saplings found after several ticks, clear
-        if (entity.tickCount % 100 == 0) { // After ~5 seconds, give up
-            lastChopPositions.remove(entity);
-                        replantStartTicks.remove(entity);
-        }
+        return null;
     }
     
     /**
-     * Updates the snapshot of sapling counts in the roamer's inventory.
-     * Used to track sapling usage for alternation enforcement.
+     * Replants the stump from a sapling in the roamer's inventory.
+     * 
+     * @return how the replant job ended, or null if no sapling was found yet
      */
-    private static void updateSaplingCountSnapshot(Entity entity, Container inventory) {
-        Map<Item, Integer> counts = new HashMap<>();
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack stack = inventory.getItem(i);
-            if (stack.isEmpty()) continue;
-            Item item = stack.getItem();
-            if (item instanceof BlockItem blockItem) {
-                if (blockItem.getBlock() instanceof SaplingBlock) {
-                    counts.merge(item, stack.getCount(), Integer::sum);
+    private static ReplantQueue.Result replantFromInventory(Entity entity, RoamerState state, ServerLevel serverLevel) {
+        BlockPos stumpPos = BlockPos.of(state.treeStumpPos);
+        Container inventory = getInventory(entity);
+        if (inventory != null) {
+            IntList saplingSlots = state.inventoryIndex.slots(inventory, RoamerInventoryIndex.Kind.SAPLING);
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < saplingSlots.size(); i++) {
+                    ItemStack stack = inventory.getItem(saplingSlots.getInt(i));
+                    Item item = stack.getItem();
+                    if ((item == state.treeSapling) != (pass == 0)) continue;
+                    
+                    if (SaplingPlacementHelper.replantAtStump(serverLevel, stumpPos, item)) {
+                        stack.shrink(1);
+                        RoamersPlusMod.LOGGER.debug("Roamer replanted {} from inventory at {}", 
+                            item.getDescriptionId(), stumpPos);
+                        return ReplantQueue.Result.REPLANTED;
+                    }
                 }
             }
         }
-        lastSaplingCounts.put(entity, counts);
+        
+        // Nothing to plant yet; the job expires on its own if this keeps up
+        return null;
     }
     
     /**
-     * Processes the bonemeal queue for a roamer - applies bonemeal to saplings they've placed.
-     * Includes safety measures to prevent memory issues and stale entries.
+     * Subscribes replanting, bonemeal and the pity system to roamer inventory changes.
      */
-    private static void processBonemealQueue(Entity entity, Level level, Container inventory) {
-        List<BlockPos> queue = pendingBonemeal.get(entity);
-        if (queue == null || queue.isEmpty()) return;
+    public static void registerInventorySubscribers() {
+        // Picked up saplings from a felled tree: replant now instead of waiting out the drop delay
+        InventoryTracker.subscribe(InventoryTracker.Change.SAPLING_GAINED, (entity, state, inventory, amount) -> {
+            if (entity.level() instanceof ServerLevel level) {
+                ReplantQueue.expedite(level, entity, level.getGameTime());
+            }
+        });
         
-        if (!(level instanceof ServerLevel serverLevel)) return;
+        // Bonemeal arrived for saplings waiting on it: run the level's bonemeal job now
+        InventoryTracker.subscribe(InventoryTracker.Change.BONEMEAL_GAINED, (entity, state, inventory, amount) -> {
+            if (entity.level() instanceof ServerLevel level && MsptGovernor.getInterval(RoamerJob.BONEMEAL) > 0
+                    && BonemealQueue.countFor(level, entity) > 0) {
+                BonemealQueue.submitJob(level, new BonemealJob(level));
+            }
+        });
         
-        // Safety: Limit queue size - remove oldest entries if too large
-        while (queue.size() > 100) {
-            queue.remove(0);
+        // The roamer is making progress on what it needs
+        InventoryTracker.subscribe(InventoryTracker.Change.NEEDED_ITEM_ACQUIRED,
+            (entity, state, inventory, amount) -> PitySystem.onNeededItemAcquired(state));
+    }
+    
+    /**
+     * Per-level roamer work that is not tied to a single roamer. Called by {@link RoamerTickDriver}
+     * once per level tick, after the roamers have ticked.
+     */
+    public static void tickLevel(ServerLevel level) {
+        // Bonemeal the queued saplings on the bonemeal job's (throttled) interval
+        int interval = MsptGovernor.getInterval(RoamerJob.BONEMEAL);
+        if (interval > 0 && level.getGameTime() % interval == 0) {
+            BonemealQueue.submitJob(level, new BonemealJob(level));
         }
         
-        // Safety: Clean up stale entries (saplings that no longer exist)
-        // Do this occasionally to prevent buildup
-        if (entity.tickCount % 100 == 0) {
-            queue.removeIf(pos -> {
-                BlockState state = level.getBlockState(pos);
-                return !(state.getBlock() instanceof SaplingBlock);
-            });
+        // Hand due replant attempts to the work queue; expired jobs are dropped by the queue itself
+        ReplantQueue.Job job;
+        while ((job = ReplantQueue.pollDue(level, level.getGameTime())) != null) {
+            Entity roamer = level.getEntity(job.getRoamerId());
+            if (roamer == null || roamer.isRemoved()) {
+                ReplantQueue.finish(level, job, ReplantQueue.Result.ROAMER_GONE, level.getGameTime());
+                continue;
+            }
+            RoamerScheduler.count(RoamerJob.REPLANT);
+            WorkQueue.submit(WorkQueue.Priority.REPLANT, new ReplantAttempt(level, job, roamer));
         }
+    }
+    
+    /**
+     * Resumable job that applies bonemeal to the saplings queued in a level's {@link BonemealQueue},
+     * paid for from the inventory of the roamer that placed each one.
+     * Each step handles one sapling, and a job looks at each entry queued when it started at most
+     * once. There is no fixed cap per job: the work queue's time budget bounds each tick, and a job
+     * that runs out of budget carries on next tick, so throughput grows with the queue.
+     * Bonemeal is used up here, but the growth itself is queued in {@link GrowthScheduler}.
+     */
+    private static final class BonemealJob implements WorkQueue.WorkUnit {
+        private static final int BONEMEAL_PER_SAPLING = 2; // Apply 2 bonemeal per sapling
         
-        // Process up to 3 sapling positions per tick to avoid lag
-        int positionsProcessed = 0;
-        int bonemealUsed = 0;
-        int bonemealPerSapling = 2; // Apply 2 bonemeal per sapling per tick
+        private final ServerLevel level;
+        private int remaining = -1;
+        private int positionsProcessed;
+        private int skipped;
         
-        Iterator<BlockPos> iter = queue.iterator();
-        while (iter.hasNext() && positionsProcessed < 3) {
-            BlockPos pos = iter.next();
-            BlockState state = level.getBlockState(pos);
+        BonemealJob(ServerLevel level) {
+            this.level = level;
+        }
+        
+        @Override
+        public boolean run() {
+            if (remaining < 0) {
+                remaining = BonemealQueue.size(level);
+            }
             
-            // Check if still a sapling
-            if (!(state.getBlock() instanceof SaplingBlock saplingBlock)) {
-                iter.remove(); // Sapling is gone (grew or was broken)
-                continue;
+            long packed = BonemealQueue.peek(level);
+            if (remaining <= 0 || packed == BonemealQueue.NO_POS) {
+                PlacementStats.record(PlacementStats.Scan.BONEMEAL, positionsProcessed + skipped, skipped);
+                return true;
             }
+            remaining--;
             
-            // Apply bonemeal multiple times to this sapling
-            for (int i = 0; i < bonemealPerSapling; i++) {
-                // Find bonemeal in inventory (search each time as slot contents may change)
-                int bonemealSlot = -1;
-                ItemStack bonemealStack = ItemStack.EMPTY;
-                for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
-                    ItemStack stack = inventory.getItem(slot);
-                    if (!stack.isEmpty() && stack.getItem() == Items.BONE_MEAL) {
-                        bonemealSlot = slot;
-                        bonemealStack = stack;
-                        break;
-                    }
-                }
-                
-                if (bonemealStack.isEmpty()) {
-                    // No more bonemeal - don't clear queue, just stop processing
-                    // The roamer might get more bonemeal later
-                    if (bonemealUsed > 0) {
-                        RoamersPlusMod.LOGGER.debug("Roamer ran out of bonemeal after using {}", bonemealUsed);
-                    }
-                    return;
-                }
-                
-                // Check if sapling still exists (might have grown from previous bonemeal)
-                if (!(level.getBlockState(pos).getBlock() instanceof SaplingBlock)) {
-                    break; // Tree grew!
-                }
-                
-                // Apply bonemeal
-                saplingBlock.advanceTree(serverLevel, pos, level.getBlockState(pos), serverLevel.random);
-                bonemealStack.shrink(1);
-                bonemealUsed++;
-                
-                // Update inventory slot if stack is empty
-                if (bonemealStack.isEmpty()) {
-                    inventory.setItem(bonemealSlot, ItemStack.EMPTY);
-                }
+            BlockPos pos = BlockPos.of(packed);
+            LoadedChunkView view = new LoadedChunkView(level);
+            
+            // Don't load chunks for bonemeal; try again once the chunk is back
+            if (!view.isLoaded(pos)) {
+                BonemealQueue.rotate(level);
+                skipped++;
+                return false;
+            }
+            
+            // Check if still a sapling, and not already waiting to grow
+            BlockState saplingState = view.getBlockState(pos);
+            if (!(saplingState.getBlock() instanceof SaplingBlock) || GrowthScheduler.isQueued(level, pos)) {
+                BonemealQueue.pop(level); // Sapling is gone (grew or was broken) or already growing
+                return false;
+            }
+            
+            // The roamer that placed it pays; drop the entry if they are gone
+            Entity owner = level.getEntity(BonemealQueue.peekOwner(level));
+            Container inventory = owner != null && !owner.isRemoved() ? getInventory(owner) : null;
+            if (inventory == null) {
+                BonemealQueue.pop(level);
+                return false;
             }
             
-            iter.remove();
+            int uses = Math.min(BONEMEAL_PER_SAPLING, SaplingPlacementHelper.stagesToGrow(saplingState));
+            int used = getState(owner).inventoryIndex.take(inventory, RoamerInventoryIndex.Kind.BONEMEAL, uses);
+            if (used == 0) {
+                // No bonemeal right now; the roamer might get more later
+                BonemealQueue.rotate(level);
+                return false;
+            }
+            
+            // The growth stages run later
+            GrowthScheduler.request(level, pos, used);
+            BonemealQueue.pop(level);
             positionsProcessed++;
-        }
-        
-        if (bonemealUsed > 0) {
-            RoamersPlusMod.LOGGER.debug("Applied {} bonemeal to saplings ({} positions processed)", 
-                bonemealUsed, positionsProcessed);
+            RoamersPlusMod.LOGGER.debug("Applied bonemeal to sapling at {}", pos);
+            return false;
         }
     }
     
     /**
-     * Queues a sapling position for bonemeal application.
+     * Queues a sapling a roamer placed for bonemeal from that roamer's inventory.
      */
-    public static void queueForBonemeal(Entity roamer, BlockPos saplingPos) {
-        pendingBonemeal.computeIfAbsent(roamer, k -> new ArrayList<>()).add(saplingPos);
+    public static void queueForBonemeal(ServerLevel level, Entity roamer, BlockPos saplingPos) {
+        BonemealQueue.enqueue(level, saplingPos, roamer);
     }
     
     /**
      * Gets the alternation index for a roamer's sapling placement.
      */
-    public static int getSaplingAltIndex(Entity roamer) {
-        return saplingAltIndex.getOrDefault(roamer, 0);
+    public static int getSaplingAltIndex(RoamerState state) {
+        return state.saplingAltIndex;
     }
     
     /**
      * Increments the alternation index for a roamer's sapling placement.
      */
-    public static void incrementSaplingAltIndex(Entity roamer, int numTypes) {
-        int current = saplingAltIndex.getOrDefault(roamer, 0);
-        saplingAltIndex.put(roamer, (current + 1) % Math.max(1, numTypes));
+    public static void incrementSaplingAltIndex(RoamerState state, int numTypes) {
+        state.saplingAltIndex = (state.saplingAltIndex + 1) % Math.max(1, numTypes);
     }
     
     // ==================== STUCK DETECTION AND RECOVERY ====================
@@ -954,39 +957,37 @@ public class RoamerEventHandler {
      * - Waiting for crafting item that can't be crafted (missing ingredient)
      * - Building position unreachable
      */
-    private static void handleStuckDetection(Entity entity) {
+    private static void handleStuckDetection(Entity entity, RoamerState state) {
         if (!(entity instanceof net.minecraft.world.entity.Mob mob)) return;
         
-        BlockPos currentPos = entity.blockPosition();
-        BlockPos lastPos = lastPositions.get(entity);
+        long currentPos = entity.blockPosition().asLong();
         
         // Check if roamer is supposed to be moving
         boolean shouldBeMoving = mob.getNavigation().isInProgress();
         
         if (shouldBeMoving) {
-            if (lastPos != null && currentPos.equals(lastPos)) {
+            if (currentPos == state.lastPos) {
                 // Roamer hasn't moved but should be
-                int count = stuckCounter.getOrDefault(entity, 0) + 1;
-                stuckCounter.put(entity, count);
+                state.stuckCounter++;
                 
-                if (count >= STUCK_THRESHOLD) {
+                if (state.stuckCounter >= STUCK_THRESHOLD) {
                     // Roamer is stuck - attempt recovery
                     RoamersPlusMod.LOGGER.info("Roamer {} appears stuck at {}, attempting recovery",
-                        entity.getName().getString(), currentPos);
+                        entity.getName().getString(), entity.blockPosition());
                     
                     attemptStuckRecovery(entity, mob);
-                    stuckCounter.put(entity, 0); // Reset counter
+                    state.stuckCounter = 0; // Reset counter
                 }
             } else {
                 // Roamer is moving, reset counter
-                stuckCounter.put(entity, 0);
+                state.stuckCounter = 0;
             }
         } else {
             // Not trying to move, reset counter
-            stuckCounter.put(entity, 0);
+            state.stuckCounter = 0;
         }
         
-        lastPositions.put(entity, currentPos);
+        state.lastPos = currentPos;
     }
     
     /**
@@ -997,33 +998,9 @@ public class RoamerEventHandler {
             // Stop current navigation
             mob.getNavigation().stop();
             
-            // Try to clear any stuck crafting state via reflection
-            if (playerLikeCharacterClass != null) {
-                try {
-                    Method setWantedCraftingItem = playerLikeCharacterClass.getMethod("setWantedCraftingItem", Item.class);
-                    setWantedCraftingItem.invoke(entity, (Object) null);
-                } catch (NoSuchMethodException e) {
-                    // Method doesn't exist in this version
-                }
-                
-                // Try to reset activity to IDLE
-                try {
-                    Class<?> activityClass = Class.forName("net.caitie.roamers.entity.PlayerLikeCharacter$Activity");
-                    Object idleActivity = null;
-                    for (Object constant : activityClass.getEnumConstants()) {
-                        if (constant.toString().equals("IDLE")) {
-                            idleActivity = constant;
-                            break;
-                        }
-                    }
-                    if (idleActivity != null) {
-                        Method setActivity = playerLikeCharacterClass.getMethod("setCurrentActivity", activityClass);
-                        setActivity.invoke(entity, idleActivity);
-                    }
-                } catch (Exception e) {
-                    RoamersPlusMod.LOGGER.debug("Could not reset activity: {}", e.getMessage());
-                }
-            }
+            // Clear any stuck crafting state and reset activity to IDLE
+            RoamersApi.setWantedCraftingItem(entity, null);
+            RoamersApi.setActivityIdle(entity);
             
             RoamersPlusMod.LOGGER.debug("Stuck recovery attempted for {}", entity.getName().getString());
         } catch (Exception e) {
@@ -1042,156 +1019,129 @@ public class RoamerEventHandler {
      * 2. Placing one from their inventory if available
      * 3. Or granting one if they've been stuck needing to craft for too long
      */
-    private static void helpWithCraftingTable(Entity entity, Level level, Container inventory) {
+    private static void helpWithCraftingTable(Entity entity, RoamerState state, Level level, Container inventory) {
         if (level.isClientSide()) return;
         
         // Check if roamer wants to craft something
         Item wantedItem = getWantedCraftingItem(entity);
         if (wantedItem == null) return;
         
+        if (!(level instanceof ServerLevel serverLevel)) return;
+        
         // Check if they have a crafting table position set
         BlockPos craftingTablePos = getCraftingTablePos(entity);
         if (craftingTablePos != null && !craftingTablePos.equals(BlockPos.ZERO)) {
-            // They have a crafting table, check if it still exists
-            BlockState state = level.getBlockState(craftingTablePos);
-            if (state.getBlock() == Blocks.CRAFTING_TABLE) {
+            // They have a crafting table, check if it still exists (without loading its chunk)
+            LoadedChunkView view = new LoadedChunkView(serverLevel);
+            if (!view.isLoaded(craftingTablePos)) {
+                PlacementStats.record(PlacementStats.Scan.CRAFTING_TABLE, 1, 1);
+                return; // Can't tell, so leave it alone
+            }
+            BlockState tableState = view.getBlockState(craftingTablePos);
+            if (tableState.getBlock() == Blocks.CRAFTING_TABLE) {
                 return; // All good
             }
         }
         
         // Roamer needs to craft but may not have a crafting table
         // Check if they have one in inventory
-        boolean hasCraftingTable = false;
-        int craftingTableSlot = -1;
-        for (int i = 0; i < inventory.getContainerSize(); i++) {
-            ItemStack stack = inventory.getItem(i);
-            if (!stack.isEmpty() && stack.getItem() == Items.CRAFTING_TABLE) {
-                hasCraftingTable = true;
-                craftingTableSlot = i;
-                break;
-            }
-        }
+        boolean hasCraftingTable = state.inventoryIndex.has(inventory, RoamerInventoryIndex.Kind.CRAFTING_TABLE);
+        
+        // Without a table in inventory we only grant one once
+        if (!hasCraftingTable && state.craftingTablePlaced) return;
         
         BlockPos homePos = getHomePos(entity);
         if (homePos == null || homePos.equals(BlockPos.ZERO)) return;
         
-        if (hasCraftingTable && craftingTableSlot >= 0) {
-            // Try to place the crafting table near their home
-            BlockPos placePos = findValidCraftingTablePos(level, homePos);
-            if (placePos != null) {
-                level.setBlock(placePos, Blocks.CRAFTING_TABLE.defaultBlockState(), 3);
-                inventory.getItem(craftingTableSlot).shrink(1);
-                if (inventory.getItem(craftingTableSlot).isEmpty()) {
-                    inventory.setItem(craftingTableSlot, ItemStack.EMPTY);
-                }
-                
-                // Update the roamer's crafting table position
-                setCraftingTablePos(entity, placePos);
-                
-                RoamersPlusMod.LOGGER.info("Placed crafting table for {} at {}", 
-                    entity.getName().getString(), placePos);
-            }
-        } else if (!craftingTablePlaced.getOrDefault(entity, false)) {
+        int treeCheckRange = getTreeCheckRange();
+        HomeSurvey survey = HomeSurveys.get(serverLevel, homePos, treeCheckRange);
+        if (survey == null) {
+            HomeSurveys.request(serverLevel, homePos, treeCheckRange, entity, state, RoamerJob.CRAFTING_TABLE, WorkQueue.Priority.CRAFTING_TABLE);
+            return;
+        }
+        
+        BlockPos placePos = findValidCraftingTablePos(survey);
+        if (placePos == null) return;
+        
+        // Re-check the surveyed spot against the live world
+        LoadedChunkView view = new LoadedChunkView(serverLevel);
+        if (!view.isLoaded(placePos)) {
+            PlacementStats.record(PlacementStats.Scan.CRAFTING_TABLE, 0, 1);
+            return;
+        }
+        if (!view.getBlockState(placePos).isAir() || !view.getBlockState(placePos.below()).isSolid()) return;
+        
+        if (hasCraftingTable) {
+            // Place the crafting table from their inventory near their home
+            BlockWriteBatch.placeOne(serverLevel, placePos, Blocks.CRAFTING_TABLE.defaultBlockState());
+            state.inventoryIndex.take(inventory, RoamerInventoryIndex.Kind.CRAFTING_TABLE, 1);
+            
+            // Update the roamer's crafting table position
+            setCraftingTablePos(entity, placePos);
+            
+            RoamersPlusMod.LOGGER.info("Placed crafting table for {} at {}", 
+                entity.getName().getString(), placePos);
+        } else if (!state.craftingTablePlaced) {
             // They don't have a crafting table - grant one after they've been waiting
             // (This is handled by the pity system for the item they want to craft,
             // but we can also help by giving them a crafting table)
-            BlockPos placePos = findValidCraftingTablePos(level, homePos);
-            if (placePos != null) {
-                level.setBlock(placePos, Blocks.CRAFTING_TABLE.defaultBlockState(), 3);
-                setCraftingTablePos(entity, placePos);
-                craftingTablePlaced.put(entity, true);
-                
-                RoamersPlusMod.LOGGER.info("Granted and placed crafting table for {} at {}", 
-                    entity.getName().getString(), placePos);
-            }
+            BlockWriteBatch.placeOne(serverLevel, placePos, Blocks.CRAFTING_TABLE.defaultBlockState());
+            setCraftingTablePos(entity, placePos);
+            state.craftingTablePlaced = true;
+            
+            RoamersPlusMod.LOGGER.info("Granted and placed crafting table for {} at {}", 
+                entity.getName().getString(), placePos);
         }
     }
     
     /**
-     * Gets the item a roamer wants to craft via reflection.
+     * Gets the item a roamer wants to craft.
      */
     private static Item getWantedCraftingItem(Entity entity) {
-        try {
-            if (playerLikeCharacterClass == null) return null;
-            Method getWantedCraftingItem = playerLikeCharacterClass.getMethod("getWantedCraftingItem");
-            Object result = getWantedCraftingItem.invoke(entity);
-            if (result instanceof Item item) {
-                return item;
-            }
-        } catch (Exception e) {
-            // Method might not exist
-        }
-        return null;
+        return RoamersApi.getWantedCraftingItem(entity) instanceof Item item ? item : null;
     }
     
     /**
-     * Gets the roamer's crafting table position via reflection.
+     * Gets the roamer's crafting table position.
      */
     private static BlockPos getCraftingTablePos(Entity entity) {
-        try {
-            if (playerLikeCharacterClass == null) return null;
-            Field craftingTablePosField = playerLikeCharacterClass.getDeclaredField("craftingTablePos");
-            craftingTablePosField.setAccessible(true);
-            Object pos = craftingTablePosField.get(entity);
-            if (pos instanceof BlockPos blockPos) {
-                return blockPos;
-            }
-        } catch (Exception e) {
-            // Field might not exist
-        }
-        return null;
+        return RoamersApi.getCraftingTablePos(entity);
     }
     
     /**
-     * Sets the roamer's crafting table position via reflection.
+     * Sets the roamer's crafting table position.
      */
     private static void setCraftingTablePos(Entity entity, BlockPos pos) {
-        try {
-            if (playerLikeCharacterClass == null) return;
-            Field craftingTablePosField = playerLikeCharacterClass.getDeclaredField("craftingTablePos");
-            craftingTablePosField.setAccessible(true);
-            craftingTablePosField.set(entity, pos);
-        } catch (Exception e) {
-            RoamersPlusMod.LOGGER.debug("Could not set crafting table pos: {}", e.getMessage());
-        }
+        RoamersApi.setCraftingTablePos(entity, pos);
     }
     
     /**
-     * Finds a valid position to place a crafting table near the given position.
+     * Finds a valid position to place a crafting table near home, from the home survey.
+     * Cells in chunks that are not loaded are skipped and counted in {@link PlacementStats}.
      */
-    private static BlockPos findValidCraftingTablePos(Level level, BlockPos center) {
-        // Search in a small area around the center
-        for (int x = -3; x <= 3; x++) {
-            for (int z = -3; z <= 3; z++) {
-                for (int y = -2; y <= 2; y++) {
-                    BlockPos checkPos = center.offset(x, y, z);
-                    BlockState state = level.getBlockState(checkPos);
-                    BlockState below = level.getBlockState(checkPos.below());
-                    
-                    // Need air at position and solid ground below
-                    if (state.isAir() && below.isSolid()) {
-                        return checkPos;
-                    }
+    private static BlockPos findValidCraftingTablePos(HomeSurvey survey) {
+        int halfSize = Math.min(HomeSurvey.TABLE_HALF_SIZE, survey.getRadius());
+        int scanned = 0;
+        int skipped = 0;
+        
+        // Search in a small area around home
+        for (int x = -halfSize; x <= halfSize; x++) {
+            for (int z = -halfSize; z <= halfSize; z++) {
+                scanned++;
+                if (survey.isUnloaded(x, z)) {
+                    skipped++;
+                    continue;
+                }
+                
+                // Air at the position and solid ground below
+                if (survey.canPlaceTable(x, z)) {
+                    PlacementStats.record(PlacementStats.Scan.CRAFTING_TABLE, scanned, skipped);
+                    return survey.getTablePos(x, z);
                 }
             }
         }
+        
+        PlacementStats.record(PlacementStats.Scan.CRAFTING_TABLE, scanned, skipped);
         return null;
     }
-    
-    /**
-     * Cleanup when server stops.
-     */
-    public static void cleanup() {
-        saplingsGiven.clear();
-        saplingsScattered.clear();
-        lastChopPositions.clear();
-        replantStartTicks.clear();
-        saplingAltIndex.clear();
-        pendingBonemeal.clear();
-        lastSaplingCounts.clear();
-        lastPositions.clear();
-        stuckCounter.clear();
-        craftingTablePlaced.clear();
-    }
 }
-
@@ -0,0 +1,120 @@
+package com.example.roamersplus.event;
+
+import com.example.roamersplus.RoamersPlusConfig;
+import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.compat.RoamersApi;
+import com.example.roamersplus.placement.HomeSurveys;
+import com.example.roamersplus.placement.PlacementPlanner;
+import com.example.roamersplus.placement.PlacementStats;
+import com.example.roamersplus.schedule.GrowthScheduler;
+import com.example.roamersplus.schedule.MsptGovernor;
+import com.example.roamersplus.schedule.RoamerScheduler;
+import com.example.roamersplus.schedule.WorkQueue;
+import com.example.roamersplus.state.RoamerRegistry;
+import com.example.roamersplus.state.RoamerState;
+import com.example.roamersplus.state.RoamersPlusAttachments;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+import java.util.List;
+
+/**
+ * Drives per-tick roamer work from a single level tick instead of a per-entity tick event.
+ *
+ * Roamers are registered in {@link RoamerRegistry} when they join a level and removed when they
+ * leave, and each server level tick only visits those roamers. Only registered on the event bus
+ * when the Roamers mod classes are present.
+ */
+public class RoamerTickDriver {
+
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        Entity entity = event.getEntity();
+        if (RoamersApi.isRoamer(entity)) {
+            entity.getData(RoamersPlusAttachments.ROAMER_STATE).schedulePhase = RoamerScheduler.phaseFor(entity);
+            RoamerRegistry.add(serverLevel, entity);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+        Entity entity = event.getEntity();
+        if (RoamersApi.isRoamer(entity)) {
+            RoamerRegistry.remove(serverLevel, entity);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            RoamerRegistry.unloadLevel(serverLevel);
+            GrowthScheduler.unloadLevel(serverLevel);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Pre event) {
+        RoamerScheduler.startTick();
+        GrowthScheduler.startTick();
+        MsptGovernor.tick(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onServerTickEnd(ServerTickEvent.Post event) {
+        // Hand finished off-thread placement plans to the work queue, then run deferred work
+        // after all levels have queued theirs, within the per-tick budget
+        PlacementPlanner.drainCompleted();
+        WorkQueue.drain(RoamersPlusConfig.getWorkBudgetNanos());
+    }
+
+    @SubscribeEvent
+    public static void onServerStopped(ServerStoppedEvent event) {
+        WorkQueue.clear();
+        GrowthScheduler.clear();
+        PlacementPlanner.clear();
+        PlacementStats.reset();
+        MsptGovernor.reset();
+    }
+
+    @SubscribeEvent
+    public static void onLevelTick(LevelTickEvent.Post event) {
+        if (!(event.getLevel() instanceof ServerLevel serverLevel)) return;
+
+        List<Entity> roamers = RoamerRegistry.getRoamers(serverLevel);
+        for (int i = 0; i < roamers.size(); i++) {
+            Entity entity = roamers.get(i);
+
+            if (entity.isRemoved()) {
+                // Missed a leave event; the last roamer is swapped into this slot
+                RoamerRegistry.remove(serverLevel, entity);
+                i--;
+                continue;
+            }
+
+            // Match the old per-entity tick: only work on roamers whose chunk is entity-ticking
+            if (!serverLevel.isPositionEntityTicking(entity.blockPosition())) continue;
+
+            try {
+                RoamerState state = entity.getData(RoamersPlusAttachments.ROAMER_STATE);
+                RoamerEventHandler.tickRoamer(entity, state);
+            } catch (Exception e) {
+                RoamersPlusMod.LOGGER.error("Error ticking roamer: {}", e.getMessage());
+            }
+        }
+
+        RoamerEventHandler.tickLevel(serverLevel);
+        HomeSurveys.tick(serverLevel);
+
+        // Grow bonemealed saplings, a bounded number of trees per tick
+        GrowthScheduler.tick(serverLevel);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.roamersplus.placement;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Immutable copy of the block states in a box around a position, safe to read from any thread.
+ *
+ * Captured on the server thread by copying the paletted section storage of every loaded chunk
+ * the box touches. Positions outside the captured area, or in chunks that were not loaded,
+ * read as void air, which never counts as plantable or solid ground.
+ *
+ * The {@link Heightmap.Types#MOTION_BLOCKING_NO_LEAVES} heightmap of each captured chunk is
+ * copied too, so ground searches can start at the surface instead of scanning columns.
+ */
+public final class AreaSnapshot implements LoadedBlocks {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    // Copied sections per chunk, indexed from minSectionY; null entries are all-air sections
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>[]> chunks;
+    // First free Y above the surface per chunk column, indexed x + z * 16
+    private final Long2ObjectOpenHashMap<int[]> surfaces;
+    private final int minSectionY;
+    private final int sectionCount;
+    private final int minBuildHeight;
+    private final int height;
+
+    private AreaSnapshot(Long2ObjectOpenHashMap<PalettedContainer<BlockState>[]> chunks,
+                         Long2ObjectOpenHashMap<int[]> surfaces, int minSectionY,
+                         int sectionCount, int minBuildHeight, int height) {
+        this.chunks = chunks;
+        this.surfaces = surfaces;
+        this.minSectionY = minSectionY;
+        this.sectionCount = sectionCount;
+        this.minBuildHeight = minBuildHeight;
+        this.height = height;
+    }
+
+    /**
+     * Copies the loaded block data around a center position. Must be called on the server thread.
+     * Chunks that are not currently loaded are left out rather than loaded.
+     *
+     * @param level The level to copy from
+     * @param center Center of the area
+     * @param horizontalRadius Blocks to include on each side along X and Z
+     * @param verticalRadius Blocks to include above and below the center
+     */
+    @SuppressWarnings("unchecked")
+    public static AreaSnapshot capture(ServerLevel level, BlockPos center, int horizontalRadius, int verticalRadius) {
+        int minSectionY = Math.max(level.getMinSection(), SectionPos.blockToSectionCoord(center.getY() - verticalRadius));
+        int maxSectionY = Math.min(level.getMaxSection() - 1, SectionPos.blockToSectionCoord(center.getY() + verticalRadius));
+        int sectionCount = Math.max(0, maxSectionY - minSectionY + 1);
+
+        int minChunkX = SectionPos.blockToSectionCoord(center.getX() - horizontalRadius);
+        int maxChunkX = SectionPos.blockToSectionCoord(center.getX() + horizontalRadius);
+        int minChunkZ = SectionPos.blockToSectionCoord(center.getZ() - horizontalRadius);
+        int maxChunkZ = SectionPos.blockToSectionCoord(center.getZ() + horizontalRadius);
+
+        Long2ObjectOpenHashMap<PalettedContainer<BlockState>[]> chunks = new Long2ObjectOpenHashMap<>();
+        Long2ObjectOpenHashMap<int[]> surfaces = new Long2ObjectOpenHashMap<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) continue;
+
+                LevelChunkSection[] sections = chunk.getSections();
+                PalettedContainer<BlockState>[] copies = new PalettedContainer[sectionCount];
+                for (int i = 0; i < sectionCount; i++) {
+                    LevelChunkSection section = sections[level.getSectionIndexFromSectionY(minSectionY + i)];
+                    copies[i] = section.hasOnlyAir() ? null : section.getStates().copy();
+                }
+                chunks.put(ChunkPos.asLong(chunkX, chunkZ), copies);
+
+                int[] surface = new int[256];
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        surface[x + z * 16] = chunk.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x, z) + 1;
+                    }
+                }
+                surfaces.put(ChunkPos.asLong(chunkX, chunkZ), surface);
+            }
+        }
+
+        return new AreaSnapshot(chunks, surfaces, minSectionY, sectionCount, level.getMinBuildHeight(), level.getHeight());
+    }
+
+    /**
+     * Finds every sapling and log in the captured sections, skipping sections whose palette
+     * cannot hold one. Safe to call off the server thread.
+     */
+    public TreeBlockIndex.Region findTreeBlocks() {
+        Long2ObjectOpenHashMap<LongOpenHashSet> found = new Long2ObjectOpenHashMap<>();
+        for (Long2ObjectMap.Entry<PalettedContainer<BlockState>[]> chunk : chunks.long2ObjectEntrySet()) {
+            long chunkKey = chunk.getLongKey();
+            int baseX = SectionPos.sectionToBlockCoord(ChunkPos.getX(chunkKey));
+            int baseZ = SectionPos.sectionToBlockCoord(ChunkPos.getZ(chunkKey));
+            LongOpenHashSet positions = new LongOpenHashSet();
+            PalettedContainer<BlockState>[] sections = chunk.getValue();
+            for (int i = 0; i < sectionCount; i++) {
+                PalettedContainer<BlockState> states = sections[i];
+                if (states == null || !states.maybeHas(TreeBlockIndex::isTracked)) continue;
+                int baseY = SectionPos.sectionToBlockCoord(minSectionY + i);
+                TreeBlockIndex.scanSection(states, baseX, baseY, baseZ, positions, positions);
+            }
+            if (!positions.isEmpty()) found.put(chunkKey, positions);
+        }
+        return new TreeBlockIndex.Region(found);
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        PalettedContainer<BlockState>[] sections = chunks.get(
+            ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+        if (sections == null) return UNLOADED;
+
+        int index = SectionPos.blockToSectionCoord(pos.getY()) - minSectionY;
+        if (index < 0 || index >= sectionCount) return UNLOADED;
+
+        PalettedContainer<BlockState> states = sections[index];
+        if (states == null) return AIR;
+        return states.get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public boolean isLoaded(BlockPos pos) {
+        return chunks.containsKey(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+    }
+
+    @Override
+    public int getSurfaceY(int x, int z) {
+        int[] surface = surfaces.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z)));
+        if (surface == null) return UNKNOWN_SURFACE;
+        return surface[(x & 15) + (z & 15) * 16];
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return minBuildHeight;
+    }
+}
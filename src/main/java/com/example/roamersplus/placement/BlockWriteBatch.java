@@ -0,0 +1,107 @@
+package com.example.roamersplus.placement;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects RoamersPlus block placements and writes them together.
+ *
+ * Writes are applied in order with {@link #WRITE_FLAGS}: clients are updated, but neighbours are
+ * not notified and shapes are not updated per block. After all writes, one pass updates the
+ * shapes around each written block (fences, walls, panes, redstone dust) and notifies each
+ * neighbouring position once, instead of once per write that touches it. Client packets are left
+ * to the server, which already sends one update per chunk section per tick.
+ *
+ * A batch is meant to be filled and applied within one work step on the server thread. Single
+ * placements use {@link #placeOne}, a plain {@code setBlock} with full updates.
+ */
+public final class BlockWriteBatch {
+
+    // Sync to clients, skip per-block neighbour notifications and shape updates (done in the pass)
+    public static final int WRITE_FLAGS = Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private record Write(BlockPos pos, BlockState state) {
+    }
+
+    private final ServerLevel level;
+    private final List<Write> writes = new ArrayList<>();
+
+    public BlockWriteBatch(ServerLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * Queues a block placement. Later queued writes to the same position win.
+     */
+    public void add(BlockPos pos, BlockState state) {
+        writes.add(new Write(pos.immutable(), state));
+    }
+
+    public boolean isEmpty() {
+        return writes.isEmpty();
+    }
+
+    /**
+     * Places a single block with full neighbour and shape updates, and records it in the tree
+     * index and home surveys.
+     *
+     * @return true if the block changed
+     */
+    public static boolean placeOne(ServerLevel level, BlockPos pos, BlockState state) {
+        if (!level.setBlock(pos, state, Block.UPDATE_ALL)) return false;
+        TreeBlockIndex.update(level, pos, state);
+        HomeSurveys.blockChanged(level, pos);
+        return true;
+    }
+
+    /**
+     * Writes all queued placements, then runs the shape and neighbour update pass.
+     *
+     * @return the number of blocks that actually changed
+     */
+    public int apply() {
+        List<Write> written = new ArrayList<>(writes.size());
+        List<BlockState> replaced = new ArrayList<>(writes.size());
+
+        for (Write write : writes) {
+            BlockState old = level.getBlockState(write.pos());
+            if (level.setBlock(write.pos(), write.state(), WRITE_FLAGS)) {
+                TreeBlockIndex.update(level, write.pos(), write.state());
+                HomeSurveys.blockChanged(level, write.pos());
+                written.add(write);
+                replaced.add(old);
+            }
+        }
+
+        // Deferred shape updates, as setBlock would have done without UPDATE_KNOWN_SHAPE
+        for (int i = 0; i < written.size(); i++) {
+            Write write = written.get(i);
+            replaced.get(i).updateIndirectNeighbourShapes(level, write.pos(), Block.UPDATE_CLIENTS);
+            write.state().updateNeighbourShapes(level, write.pos(), Block.UPDATE_CLIENTS);
+            write.state().updateIndirectNeighbourShapes(level, write.pos(), Block.UPDATE_CLIENTS);
+        }
+
+        // One consolidated neighbour pass: every neighbour hears about a change once
+        LongOpenHashSet notified = new LongOpenHashSet();
+        for (Write write : written) {
+            for (Direction direction : DIRECTIONS) {
+                BlockPos neighbour = write.pos().relative(direction);
+                if (notified.add(neighbour.asLong())) {
+                    level.neighborChanged(neighbour, write.state().getBlock(), write.pos());
+                }
+            }
+        }
+
+        writes.clear();
+        return written.size();
+    }
+}
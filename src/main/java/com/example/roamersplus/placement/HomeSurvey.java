@@ -0,0 +1,231 @@
+package com.example.roamersplus.placement;
+
+import com.example.roamersplus.util.SaplingPlacementHelper;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Compact survey of the terrain around one roamer home, shared by scatter, planting and
+ * crafting table placement.
+ *
+ * Holds one cell per column of the square around home (the features only draw from the disc
+ * inside it): a byte of flags, the Y of the sapling spot and, near home, the Y of a free
+ * crafting table spot. Built once off the server thread from an {@link AreaSnapshot} (see
+ * {@link HomeSurveys}), then kept current by re-surveying only the cells around reported block
+ * changes, on the server thread, the next time the survey is read.
+ *
+ * Cells only say where a placement should work. Callers still re-check the live world before
+ * placing anything.
+ */
+public final class HomeSurvey {
+
+    // Cell flags
+    private static final byte PLANTABLE = 1;        // sapling can go at plantY
+    private static final byte TABLE_SPOT = 1 << 1;  // crafting table can go at tableY
+    private static final byte TREE_NEARBY = 1 << 2; // sapling or log within CLUSTER_RADIUS of the sapling spot
+    private static final byte RESERVED = 1 << 3;    // claimed by a placement that has not happened yet
+    private static final byte UNLOADED = 1 << 4;    // chunk was not loaded when the cell was surveyed
+
+    // No sapling or log may be this close to a newly planted sapling
+    public static final int CLUSTER_RADIUS = 2;
+
+    // Crafting table spots are only surveyed this close to home
+    public static final int TABLE_HALF_SIZE = 3;
+    private static final int TABLE_SEARCH_HEIGHT = 2;
+
+    // Block changes this far above or below home can affect a cell
+    public static final int SURVEY_HEIGHT = 8;
+
+    private final BlockPos home;
+    private final int radius;
+    private final int side;
+    private final byte[] flags;
+    private final short[] plantY;
+    private final short[] tableY;
+    private final BitSet dirty;
+    long lastUsedTick;
+    long builtTick;
+
+    private HomeSurvey(BlockPos home, int radius) {
+        this.home = home.immutable();
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.flags = new byte[side * side];
+        this.plantY = new short[side * side];
+        this.tableY = new short[side * side];
+        this.dirty = new BitSet(side * side);
+    }
+
+    /**
+     * Surveys every cell around home. Safe to call off the server thread when given an
+     * {@link AreaSnapshot} and the {@link TreeBlockIndex.Region} found in it.
+     *
+     * @param blocks Blocks around home, at least {@code radius} out and {@link #SURVEY_HEIGHT} up and down
+     * @param trees Saplings and logs around home, at least {@code radius + CLUSTER_RADIUS} out
+     *              and {@code SURVEY_HEIGHT + CLUSTER_RADIUS} up and down
+     */
+    static HomeSurvey survey(LoadedBlocks blocks, TreeBlockIndex.Region trees, BlockPos home, int radius) {
+        HomeSurvey survey = new HomeSurvey(home, radius);
+        Predicate<BlockPos> treeNearby = pos -> trees.hasTreeBlockNearby(pos, CLUSTER_RADIUS, CLUSTER_RADIUS);
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                survey.surveyCell(blocks, treeNearby, dx, dz);
+            }
+        }
+        return survey;
+    }
+
+    /**
+     * Re-surveys the cells marked as changed. Called on the server thread.
+     *
+     * @param blocks Live blocks, which must not load chunks
+     * @param treeNearby Whether a sapling or log is within {@link #CLUSTER_RADIUS} of a position
+     */
+    void refresh(LoadedBlocks blocks, Predicate<BlockPos> treeNearby) {
+        for (int index = dirty.nextSetBit(0); index >= 0; index = dirty.nextSetBit(index + 1)) {
+            dirty.clear(index);
+            surveyCell(blocks, treeNearby, index / side - radius, index % side - radius);
+        }
+    }
+
+    private void surveyCell(LoadedBlocks blocks, Predicate<BlockPos> treeNearby, int dx, int dz) {
+        int index = index(dx, dz);
+        byte cell = (byte) (flags[index] & RESERVED);
+        BlockPos basePos = home.offset(dx, 0, dz);
+
+        if (!blocks.isLoaded(basePos)) {
+            // Try again once the chunk is loaded
+            flags[index] = (byte) (cell | UNLOADED);
+            dirty.set(index);
+            return;
+        }
+
+        BlockPos plantPos = SaplingPlacementHelper.findValidSaplingPositionPublic(blocks, basePos);
+        if (plantPos != null) {
+            cell |= PLANTABLE;
+            plantY[index] = (short) plantPos.getY();
+            if (treeNearby.test(plantPos)) {
+                cell |= TREE_NEARBY;
+            }
+        }
+
+        if (Math.abs(dx) <= TABLE_HALF_SIZE && Math.abs(dz) <= TABLE_HALF_SIZE) {
+            // Lowest spot with air and solid ground below
+            for (int y = -TABLE_SEARCH_HEIGHT; y <= TABLE_SEARCH_HEIGHT; y++) {
+                BlockPos checkPos = basePos.above(y);
+                BlockState state = blocks.getBlockState(checkPos);
+                if (state.isAir() && blocks.getBlockState(checkPos.below()).isSolid()) {
+                    cell |= TABLE_SPOT;
+                    tableY[index] = (short) checkPos.getY();
+                    break;
+                }
+            }
+        }
+
+        flags[index] = cell;
+    }
+
+    /**
+     * Marks the cells a block change can affect for re-surveying. A change in a reserved cell's
+     * own column releases the reservation: the claimed placement happened or can no longer happen.
+     *
+     * @param spread How far the change reaches sideways, in blocks
+     */
+    void markChanged(int x, int y, int z, int spread) {
+        if (Math.abs(y - home.getY()) > SURVEY_HEIGHT) return;
+
+        int cx = x - home.getX();
+        int cz = z - home.getZ();
+        if (contains(cx, cz)) {
+            flags[index(cx, cz)] &= ~RESERVED;
+        }
+
+        for (int dx = Math.max(-radius, cx - spread); dx <= Math.min(radius, cx + spread); dx++) {
+            for (int dz = Math.max(-radius, cz - spread); dz <= Math.min(radius, cz + spread); dz++) {
+                dirty.set(index(dx, dz));
+            }
+        }
+    }
+
+    public BlockPos getHome() {
+        return home;
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    /**
+     * Checks whether a world column falls inside the survey.
+     */
+    public boolean contains(int dx, int dz) {
+        return Math.abs(dx) <= radius && Math.abs(dz) <= radius;
+    }
+
+    /**
+     * Checks whether the cell's chunk was not loaded when it was last surveyed.
+     */
+    public boolean isUnloaded(int dx, int dz) {
+        return (flags[index(dx, dz)] & UNLOADED) != 0;
+    }
+
+    /**
+     * Checks whether a sapling can go in the cell and nothing else has claimed it.
+     */
+    public boolean canPlant(int dx, int dz) {
+        return (flags[index(dx, dz)] & (PLANTABLE | RESERVED | UNLOADED)) == PLANTABLE;
+    }
+
+    /**
+     * Checks whether a sapling or log stands within {@link #CLUSTER_RADIUS} of the cell's sapling spot.
+     */
+    public boolean isNearTree(int dx, int dz) {
+        return (flags[index(dx, dz)] & TREE_NEARBY) != 0;
+    }
+
+    /**
+     * Gets the sapling spot of a cell; only meaningful when {@link #canPlant} is true.
+     */
+    public BlockPos getPlantPos(int dx, int dz) {
+        return new BlockPos(home.getX() + dx, plantY[index(dx, dz)], home.getZ() + dz);
+    }
+
+    /**
+     * Checks whether a crafting table can go in the cell and nothing else has claimed it.
+     */
+    public boolean canPlaceTable(int dx, int dz) {
+        return (flags[index(dx, dz)] & (TABLE_SPOT | RESERVED | UNLOADED)) == TABLE_SPOT;
+    }
+
+    /**
+     * Gets the crafting table spot of a cell; only meaningful when {@link #canPlaceTable} is true.
+     */
+    public BlockPos getTablePos(int dx, int dz) {
+        return new BlockPos(home.getX() + dx, tableY[index(dx, dz)], home.getZ() + dz);
+    }
+
+    /**
+     * Claims a cell for a later placement, so other features leave it alone.
+     */
+    public void reserve(int dx, int dz) {
+        flags[index(dx, dz)] |= RESERVED;
+    }
+
+    /**
+     * Releases the claim on the cell holding a position, if it is inside the survey.
+     */
+    public void release(BlockPos pos) {
+        int dx = pos.getX() - home.getX();
+        int dz = pos.getZ() - home.getZ();
+        if (contains(dx, dz)) {
+            flags[index(dx, dz)] &= ~RESERVED;
+        }
+    }
+
+    private int index(int dx, int dz) {
+        return (dx + radius) * side + (dz + radius);
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.roamersplus.placement;
+
+import com.example.roamersplus.schedule.RoamerJob;
+import com.example.roamersplus.schedule.WorkQueue;
+import com.example.roamersplus.state.RoamerState;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.ChunkPos;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.BlockGrowFeatureEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-level registry of {@link HomeSurvey}s, keyed by home position.
+ *
+ * A survey is requested by the first feature that needs it and built off the server thread.
+ * Block place and break events, tree growth and our own {@link BlockWriteBatch} writes mark the
+ * affected cells of every survey they touch, found through an index of the chunks each survey
+ * (or survey being built) covers; block changes made while a survey is still being built are kept
+ * and applied when it arrives. A periodic sweep in the level tick drops surveys not read for a
+ * few minutes, and rebuilds old ones.
+ *
+ * Changes that fire no event are not seen: direct {@code setBlock} calls by Roamers' own
+ * building and by other mods, commands, pistons, explosions. A survey can then offer a spot that
+ * is no longer free, or miss one that became free, until its cells change again or it is
+ * rebuilt. Every placement re-checks its spot against the live world, so the worst case is a
+ * skipped spot, never a sapling or table placed over something.
+ *
+ * Main-thread only.
+ */
+public final class HomeSurveys {
+
+    // A grown tree can change the ground this far from its sapling
+    private static final int GROWTH_SPREAD = 5;
+
+    // Drop surveys whose home has not been read for this long (homes move, roamers leave)
+    private static final long EXPIRY_TICKS = 20 * 60 * 5;
+    // Rebuild surveys this old, to pick up changes no event reported
+    private static final long MAX_AGE_TICKS = 20 * 60 * 10;
+    private static final int SWEEP_INTERVAL = 20 * 30;
+
+    // How far outside its radius a change can still affect a survey
+    private static final int MAX_SPREAD = Math.max(GROWTH_SPREAD, HomeSurvey.CLUSTER_RADIUS);
+
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<HomeSurvey>> SURVEYS = new IdentityHashMap<>();
+    // Homes with a survey being built, and the block changes seen meanwhile (packed position, spread)
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<LongArrayList>> BUILDING = new IdentityHashMap<>();
+    // Chunk -> homes whose survey, built or being built, a change in that chunk can affect
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<LongArrayList>> HOMES_BY_CHUNK = new IdentityHashMap<>();
+
+    private HomeSurveys() {
+    }
+
+    /**
+     * Hooks survey maintenance into block and level events.
+     */
+    public static void register() {
+        // Lowest priority, so cancelled events never reach the surveys
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, HomeSurveys::onBlockPlace);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, HomeSurveys::onBlockBreak);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, HomeSurveys::onGrowFeature);
+        NeoForge.EVENT_BUS.addListener(HomeSurveys::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(HomeSurveys::onServerStopped);
+    }
+
+    private static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (event instanceof BlockEvent.EntityMultiPlaceEvent multi) {
+            for (BlockSnapshot snapshot : multi.getReplacedBlockSnapshots()) {
+                blockChanged(level, snapshot.getPos());
+            }
+        } else {
+            blockChanged(level, event.getPos());
+        }
+    }
+
+    private static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            blockChanged(level, event.getPos());
+        }
+    }
+
+    private static void onGrowFeature(BlockGrowFeatureEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            changed(level, event.getPos(), GROWTH_SPREAD);
+        }
+    }
+
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            SURVEYS.remove(level);
+            BUILDING.remove(level);
+            HOMES_BY_CHUNK.remove(level);
+        }
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        SURVEYS.clear();
+        BUILDING.clear();
+        HOMES_BY_CHUNK.clear();
+    }
+
+    /**
+     * Marks the survey cells a single block change can affect.
+     */
+    public static void blockChanged(ServerLevel level, BlockPos pos) {
+        changed(level, pos, HomeSurvey.CLUSTER_RADIUS);
+    }
+
+    private static void changed(ServerLevel level, BlockPos pos, int spread) {
+        Long2ObjectOpenHashMap<LongArrayList> byChunk = HOMES_BY_CHUNK.get(level);
+        if (byChunk == null) return;
+        LongArrayList homes = byChunk.get(ChunkPos.asLong(pos));
+        if (homes == null) return;
+
+        Long2ObjectOpenHashMap<HomeSurvey> surveys = SURVEYS.get(level);
+        Long2ObjectOpenHashMap<LongArrayList> building = BUILDING.get(level);
+        for (int i = 0; i < homes.size(); i++) {
+            long home = homes.getLong(i);
+            // A home is listed twice while a survey of it is rebuilt
+            if (homes.indexOf(home) < i) continue;
+
+            HomeSurvey survey = surveys != null ? surveys.get(home) : null;
+            if (survey != null) {
+                survey.markChanged(pos.getX(), pos.getY(), pos.getZ(), spread);
+            }
+            LongArrayList changes = building != null ? building.get(home) : null;
+            if (changes != null) {
+                changes.add(pos.asLong());
+                changes.add(spread);
+            }
+        }
+    }
+
+    /**
+     * Adds a home to the chunks a survey of the given radius can be affected in.
+     */
+    private static void index(ServerLevel level, long home, int radius) {
+        Long2ObjectOpenHashMap<LongArrayList> byChunk = HOMES_BY_CHUNK.computeIfAbsent(level, k -> new Long2ObjectOpenHashMap<>());
+        int reach = radius + MAX_SPREAD;
+        int x = BlockPos.getX(home);
+        int z = BlockPos.getZ(home);
+        for (int chunkX = SectionPos.blockToSectionCoord(x - reach); chunkX <= SectionPos.blockToSectionCoord(x + reach); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(z - reach); chunkZ <= SectionPos.blockToSectionCoord(z + reach); chunkZ++) {
+                byChunk.computeIfAbsent(ChunkPos.asLong(chunkX, chunkZ), k -> new LongArrayList()).add(home);
+            }
+        }
+    }
+
+    /**
+     * Removes one listing of a home added by {@link #index}.
+     */
+    private static void unindex(ServerLevel level, long home, int radius) {
+        Long2ObjectOpenHashMap<LongArrayList> byChunk = HOMES_BY_CHUNK.get(level);
+        if (byChunk == null) return;
+        int reach = radius + MAX_SPREAD;
+        int x = BlockPos.getX(home);
+        int z = BlockPos.getZ(home);
+        for (int chunkX = SectionPos.blockToSectionCoord(x - reach); chunkX <= SectionPos.blockToSectionCoord(x + reach); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(z - reach); chunkZ <= SectionPos.blockToSectionCoord(z + reach); chunkZ++) {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                LongArrayList homes = byChunk.get(chunkKey);
+                if (homes == null) continue;
+                homes.rem(home);
+                if (homes.isEmpty()) {
+                    byChunk.remove(chunkKey);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops surveys that have not been read for a while or are due a rebuild. Called once per level tick.
+     */
+    public static void tick(ServerLevel level) {
+        long now = level.getGameTime();
+        if (now % SWEEP_INTERVAL != 0) return;
+        Long2ObjectOpenHashMap<HomeSurvey> surveys = SURVEYS.get(level);
+        if (surveys == null) return;
+
+        ObjectIterator<HomeSurvey> it = surveys.values().iterator();
+        while (it.hasNext()) {
+            HomeSurvey survey = it.next();
+            if (now - survey.lastUsedTick > EXPIRY_TICKS || now - survey.builtTick > MAX_AGE_TICKS) {
+                it.remove();
+                unindex(level, survey.getHome().asLong(), survey.getRadius());
+            }
+        }
+    }
+
+    /**
+     * Gets the survey of a home, with changed cells re-surveyed.
+     *
+     * @return the survey, or null if none has been built for this home and radius yet
+     */
+    public static HomeSurvey get(ServerLevel level, BlockPos home, int radius) {
+        Long2ObjectOpenHashMap<HomeSurvey> surveys = SURVEYS.get(level);
+        if (surveys == null) return null;
+        HomeSurvey survey = surveys.get(home.asLong());
+        if (survey == null || survey.getRadius() != radius) return null;
+
+        survey.lastUsedTick = level.getGameTime();
+        survey.refresh(new LoadedChunkView(level),
+            pos -> TreeBlockIndex.hasTreeBlockNearby(level, pos, HomeSurvey.CLUSTER_RADIUS, HomeSurvey.CLUSTER_RADIUS));
+        return survey;
+    }
+
+    /**
+     * Starts building the survey of a home off the server thread, unless one is already being built.
+     * The requesting roamer's job counts as planning until the survey arrives.
+     */
+    public static void request(ServerLevel level, BlockPos home, int radius,
+                               Entity roamer, RoamerState state, RoamerJob job, WorkQueue.Priority priority) {
+        Long2ObjectOpenHashMap<LongArrayList> building = BUILDING.computeIfAbsent(level, k -> new Long2ObjectOpenHashMap<>());
+        if (building.containsKey(home.asLong())) return;
+        if ((state.planningJobs & (1 << job.ordinal())) != 0) return;
+
+        building.put(home.asLong(), new LongArrayList());
+        index(level, home.asLong(), radius);
+        // The margin covers the clustering check around cells at the edge of the survey
+        PlacementPlanner.submit(level, home, radius + HomeSurvey.CLUSTER_RADIUS,
+            HomeSurvey.SURVEY_HEIGHT + HomeSurvey.CLUSTER_RADIUS,
+            new SurveyPlan(roamer, state, job, priority, level, home, radius));
+    }
+
+    /**
+     * Gets the number of surveys currently kept, across all levels.
+     */
+    public static int size() {
+        int total = 0;
+        for (Long2ObjectOpenHashMap<HomeSurvey> surveys : SURVEYS.values()) {
+            total += surveys.size();
+        }
+        return total;
+    }
+
+    private static void publish(ServerLevel level, HomeSurvey survey) {
+        long homeKey = survey.getHome().asLong();
+        Long2ObjectOpenHashMap<LongArrayList> building = BUILDING.get(level);
+        LongArrayList changes = building != null ? building.remove(homeKey) : null;
+        if (changes == null) return; // Level unloaded or server stopped meanwhile
+
+        // Replay changes made while the survey was being built
+        for (int i = 0; i < changes.size(); i += 2) {
+            BlockPos pos = BlockPos.of(changes.getLong(i));
+            survey.markChanged(pos.getX(), pos.getY(), pos.getZ(), (int) changes.getLong(i + 1));
+        }
+
+        survey.lastUsedTick = level.getGameTime();
+        survey.builtTick = level.getGameTime();
+        // The home stays indexed for the survey that replaces the build
+        HomeSurvey previous = SURVEYS.computeIfAbsent(level, k -> new Long2ObjectOpenHashMap<>()).put(homeKey, survey);
+        if (previous != null) {
+            unindex(level, homeKey, previous.getRadius());
+        }
+    }
+
+    private static void abandon(ServerLevel level, BlockPos home, int radius) {
+        Long2ObjectOpenHashMap<LongArrayList> building = BUILDING.get(level);
+        if (building != null && building.remove(home.asLong()) != null) {
+            unindex(level, home.asLong(), radius);
+        }
+    }
+
+    /**
+     * Survey plan: the home area is surveyed off-thread and the survey published on the server thread.
+     */
+    private static final class SurveyPlan extends PlacementTask<HomeSurvey> {
+        private final ServerLevel level;
+        private final BlockPos home;
+        private final int radius;
+
+        SurveyPlan(Entity roamer, RoamerState state, RoamerJob job, WorkQueue.Priority priority,
+                   ServerLevel level, BlockPos home, int radius) {
+            super(roamer, state, job, priority);
+            this.level = level;
+            this.home = home.immutable();
+            this.radius = radius;
+        }
+
+        @Override
+        protected HomeSurvey plan(AreaSnapshot snapshot) {
+            return HomeSurvey.survey(snapshot, snapshot.findTreeBlocks(), home, radius);
+        }
+
+        @Override
+        protected void apply(HomeSurvey survey) {
+            publish(level, survey);
+        }
+
+        @Override
+        protected void discard() {
+            abandon(level, home, radius);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.roamersplus.placement;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Block access for placement scans that never loads chunks.
+ *
+ * Positions in chunks that are not loaded read as void air, which never counts as plantable or
+ * solid ground, so a scan that wanders into them simply finds nothing there. Scans use
+ * {@link #isLoaded} to skip such candidates up front and report them to {@link PlacementStats}.
+ */
+public interface LoadedBlocks extends BlockGetter {
+
+    // Read for positions in chunks that are not loaded (or were not captured)
+    BlockState UNLOADED = Blocks.VOID_AIR.defaultBlockState();
+
+    // Returned by getSurfaceY for columns in chunks that are not loaded
+    int UNKNOWN_SURFACE = Integer.MIN_VALUE;
+
+    /**
+     * Checks whether the chunk containing a position is available to this view.
+     */
+    boolean isLoaded(BlockPos pos);
+
+    /**
+     * Gets the first Y above the highest motion-blocking, non-leaf block of a column,
+     * or {@link #UNKNOWN_SURFACE} if its chunk is not available.
+     */
+    int getSurfaceY(int x, int z);
+}
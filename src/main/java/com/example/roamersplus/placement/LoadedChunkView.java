@@ -0,0 +1,87 @@
+package com.example.roamersplus.placement;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.material.FluidState;
+
+/**
+ * Live view of a server level for main-thread placement checks.
+ *
+ * Chunks are fetched with {@code getChunkNow}, so nothing is ever loaded or generated, and the
+ * last chunk is kept so consecutive lookups in the same chunk read its sections directly. Create
+ * one view per scan and drop it afterwards; it must not outlive the tick it was created in.
+ */
+public final class LoadedChunkView implements LoadedBlocks {
+
+    private static final BlockState AIR = Blocks.AIR.defaultBlockState();
+
+    private final ServerLevel level;
+    private long cachedKey;
+    private LevelChunk cachedChunk;
+    private boolean hasCached;
+
+    public LoadedChunkView(ServerLevel level) {
+        this.level = level;
+    }
+
+    private LevelChunk chunkAt(int x, int z) {
+        long key = ChunkPos.asLong(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+        if (!hasCached || key != cachedKey) {
+            cachedChunk = level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(x), SectionPos.blockToSectionCoord(z));
+            cachedKey = key;
+            hasCached = true;
+        }
+        return cachedChunk;
+    }
+
+    @Override
+    public boolean isLoaded(BlockPos pos) {
+        return chunkAt(pos.getX(), pos.getZ()) != null;
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        LevelChunk chunk = chunkAt(pos.getX(), pos.getZ());
+        if (chunk == null || level.isOutsideBuildHeight(pos.getY())) return UNLOADED;
+
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndex(pos.getY()));
+        if (section.hasOnlyAir()) return AIR;
+        return section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+    }
+
+    @Override
+    public int getSurfaceY(int x, int z) {
+        LevelChunk chunk = chunkAt(x, z);
+        if (chunk == null) return UNKNOWN_SURFACE;
+        return chunk.getHeight(Heightmap.Types.MOTION_BLOCKING_NO_LEAVES, x & 15, z & 15) + 1;
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        LevelChunk chunk = chunkAt(pos.getX(), pos.getZ());
+        return chunk == null ? null : chunk.getBlockEntity(pos);
+    }
+
+    @Override
+    public int getHeight() {
+        return level.getHeight();
+    }
+
+    @Override
+    public int getMinBuildHeight() {
+        return level.getMinBuildHeight();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.roamersplus.placement;
+
+import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.schedule.WorkQueue;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs placement searches off the server thread.
+ *
+ * The server thread copies the area into an {@link AreaSnapshot} and hands it to the background
+ * executor together with a {@link PlacementTask}. Finished plans come back through a lock-free
+ * queue and are applied on the server thread through the budgeted {@link WorkQueue}, so the
+ * server thread only pays for the snapshot copy and for applying the result.
+ */
+public class PlacementPlanner {
+
+    private record Completed(PlacementTask<?> task, Runnable apply, int generation) {
+    }
+
+    private static final ConcurrentLinkedQueue<Completed> completed = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    // Bumped on server stop so plans started before it are discarded
+    private static volatile int generation;
+
+    /**
+     * Snapshots the area around a center and plans the task on a worker thread.
+     * Must be called on the server thread. The task's roamer job is marked as planning until
+     * its result has been applied or dropped.
+     */
+    public static <T> void submit(ServerLevel level, BlockPos center, int horizontalRadius, int verticalRadius, PlacementTask<T> task) {
+        int bit = 1 << task.getJob().ordinal();
+        if ((task.state.planningJobs & bit) != 0) return;
+        task.state.planningJobs |= bit;
+
+        AreaSnapshot snapshot = AreaSnapshot.capture(level, center, horizontalRadius, verticalRadius);
+        int submittedGeneration = generation;
+        inFlight.incrementAndGet();
+
+        CompletableFuture.supplyAsync(() -> task.plan(snapshot), Util.backgroundExecutor())
+            .whenComplete((result, error) -> {
+                if (error != null) {
+                    RoamersPlusMod.LOGGER.error("Error planning RoamersPlus placement: {}", error.getMessage());
+                }
+                Runnable apply = error == null ? () -> task.apply(result) : task::discard;
+                completed.add(new Completed(task, apply, submittedGeneration));
+                inFlight.decrementAndGet();
+            });
+    }
+
+    /**
+     * Hands finished plans to the work queue for applying. Called once per server tick on the server thread.
+     */
+    public static void drainCompleted() {
+        Completed done;
+        while ((done = completed.poll()) != null) {
+            if (done.generation() != generation) continue;
+
+            Completed result = done;
+            PlacementTask<?> task = result.task();
+            WorkQueue.submit(task.getPriority(), () -> {
+                try {
+                    if (!task.roamer.isRemoved()) {
+                        result.apply().run();
+                    } else {
+                        task.discard();
+                    }
+                } finally {
+                    task.state.planningJobs &= ~(1 << task.getJob().ordinal());
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Gets the number of plans currently being computed.
+     */
+    public static int getInFlightCount() {
+        return inFlight.get();
+    }
+
+    /**
+     * Discards finished and in-flight plans (called when the server stops).
+     */
+    public static void clear() {
+        generation++;
+        completed.clear();
+    }
+}
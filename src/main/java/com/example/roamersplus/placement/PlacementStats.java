@@ -0,0 +1,50 @@
+package com.example.roamersplus.placement;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts placement candidates scanned and skipped because their chunk was not loaded.
+ * Safe to update from planning threads.
+ */
+public final class PlacementStats {
+
+    public enum Scan {
+        SCATTER,
+        PLANT,
+        CRAFTING_TABLE,
+        REPLANT,
+        BONEMEAL
+    }
+
+    private static final AtomicLongArray scanned = new AtomicLongArray(Scan.values().length);
+    private static final AtomicLongArray skipped = new AtomicLongArray(Scan.values().length);
+
+    private PlacementStats() {
+    }
+
+    /**
+     * Adds the results of one scan.
+     */
+    public static void record(Scan scan, int scannedCount, int skippedCount) {
+        scanned.addAndGet(scan.ordinal(), scannedCount);
+        skipped.addAndGet(scan.ordinal(), skippedCount);
+    }
+
+    public static long getScanned(Scan scan) {
+        return scanned.get(scan.ordinal());
+    }
+
+    public static long getSkipped(Scan scan) {
+        return skipped.get(scan.ordinal());
+    }
+
+    /**
+     * Resets all counters (called when the server stops).
+     */
+    public static void reset() {
+        for (int i = 0; i < scanned.length(); i++) {
+            scanned.set(i, 0);
+            skipped.set(i, 0);
+        }
+    }
+}
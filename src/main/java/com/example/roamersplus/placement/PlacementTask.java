@@ -0,0 +1,55 @@
+package com.example.roamersplus.placement;
+
+import com.example.roamersplus.schedule.RoamerJob;
+import com.example.roamersplus.schedule.WorkQueue;
+import com.example.roamersplus.state.RoamerState;
+import net.minecraft.world.entity.Entity;
+
+/**
+ * Work for one roamer, split into an off-thread search and a main-thread apply.
+ *
+ * {@link #plan} runs on a worker thread and may only read the {@link AreaSnapshot} it is given.
+ * {@link #apply} runs later on the server thread and must re-check the result against the
+ * live world before placing anything, since the world may have changed in between.
+ *
+ * @param <T> What the search produces
+ */
+public abstract class PlacementTask<T> {
+
+    protected final Entity roamer;
+    protected final RoamerState state;
+    private final RoamerJob job;
+    private final WorkQueue.Priority priority;
+
+    protected PlacementTask(Entity roamer, RoamerState state, RoamerJob job, WorkQueue.Priority priority) {
+        this.roamer = roamer;
+        this.state = state;
+        this.job = job;
+        this.priority = priority;
+    }
+
+    /**
+     * Searches the snapshot. Called on a worker thread.
+     */
+    protected abstract T plan(AreaSnapshot snapshot);
+
+    /**
+     * Uses the search result on the server thread.
+     */
+    protected abstract void apply(T result);
+
+    /**
+     * Called on the server thread instead of {@link #apply} when the search failed or the roamer
+     * is gone.
+     */
+    protected void discard() {
+    }
+
+    RoamerJob getJob() {
+        return job;
+    }
+
+    WorkQueue.Priority getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.roamersplus.placement;
+
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.SaplingBlock;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.EntityEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-level index of dropped sapling items, keyed by chunk.
+ *
+ * Sapling {@link ItemEntity}s are added when they join a level (dropped, or loaded with their
+ * chunk) and removed when they leave it (picked up, merged, despawned, or unloaded). Items that
+ * drift into another chunk are moved along with them. Queries only visit the chunks overlapping
+ * the search box, instead of asking the level for every entity in it.
+ *
+ * Entries are found again by entity id, not by what the stack holds: pickup, merging and our own
+ * replanting empty the stack before the entity leaves. A stack can also change in place, so
+ * queries re-check that each entry is still a sapling inside the box.
+ * Main-thread only.
+ */
+public final class SaplingItemIndex {
+
+    private static final Map<ServerLevel, LevelItems> LEVELS = new IdentityHashMap<>();
+
+    private static final class LevelItems {
+        final Long2ObjectOpenHashMap<ObjectArrayList<ItemEntity>> byChunk = new Long2ObjectOpenHashMap<>();
+        // Entity id -> chunk key of its entry
+        final Int2LongOpenHashMap chunkOf = new Int2LongOpenHashMap();
+    }
+
+    private SaplingItemIndex() {
+    }
+
+    /**
+     * Hooks index maintenance into entity and level events.
+     */
+    public static void register() {
+        // Lowest priority, so cancelled joins never reach the index
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, SaplingItemIndex::onEntityJoin);
+        NeoForge.EVENT_BUS.addListener(SaplingItemIndex::onEntityLeave);
+        NeoForge.EVENT_BUS.addListener(SaplingItemIndex::onEnteringSection);
+        NeoForge.EVENT_BUS.addListener(SaplingItemIndex::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(SaplingItemIndex::onServerStopped);
+    }
+
+    /**
+     * Checks whether a stack is a sapling the index tracks.
+     */
+    public static boolean isSapling(ItemStack stack) {
+        return stack.getItem() instanceof BlockItem blockItem && blockItem.getBlock() instanceof SaplingBlock;
+    }
+
+    private static void onEntityJoin(EntityJoinLevelEvent event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getEntity() instanceof ItemEntity item
+                && isSapling(item.getItem())) {
+            add(level, item, ChunkPos.asLong(item.blockPosition()));
+        }
+    }
+
+    // Whatever the stack holds now; it is often already empty
+    private static void onEntityLeave(EntityLeaveLevelEvent event) {
+        if (event.getLevel() instanceof ServerLevel level && event.getEntity() instanceof ItemEntity item) {
+            remove(level, item);
+        }
+    }
+
+    private static void onEnteringSection(EntityEvent.EnteringSection event) {
+        if (!event.didChunkChange()) return;
+        if (!(event.getEntity() instanceof ItemEntity item) || !(item.level() instanceof ServerLevel level)) return;
+
+        SectionPos to = event.getNewPos();
+        if (remove(level, item)) {
+            add(level, item, ChunkPos.asLong(to.x(), to.z()));
+        }
+    }
+
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LEVELS.remove(level);
+        }
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        LEVELS.clear();
+    }
+
+    private static void add(ServerLevel level, ItemEntity item, long chunkKey) {
+        LevelItems index = LEVELS.computeIfAbsent(level, k -> new LevelItems());
+        if (index.chunkOf.containsKey(item.getId())) return;
+        index.chunkOf.put(item.getId(), chunkKey);
+        index.byChunk.computeIfAbsent(chunkKey, k -> new ObjectArrayList<>()).add(item);
+    }
+
+    /**
+     * Removes an item's entry, found by entity id.
+     *
+     * @return true if it was indexed
+     */
+    private static boolean remove(ServerLevel level, ItemEntity item) {
+        LevelItems index = LEVELS.get(level);
+        if (index == null || !index.chunkOf.containsKey(item.getId())) return false;
+        long chunkKey = index.chunkOf.remove(item.getId());
+        ObjectArrayList<ItemEntity> items = index.byChunk.get(chunkKey);
+        if (items == null) return false;
+
+        int slot = items.indexOf(item);
+        if (slot < 0) return false;
+        // Swap-remove; order within a chunk does not matter
+        ItemEntity last = items.pop();
+        if (slot < items.size()) {
+            items.set(slot, last);
+        }
+        if (items.isEmpty()) {
+            index.byChunk.remove(chunkKey);
+        }
+        return true;
+    }
+
+    /**
+     * Collects the dropped saplings inside a box.
+     *
+     * @param out Receives the saplings; not cleared first
+     */
+    public static void collect(ServerLevel level, AABB box, List<ItemEntity> out) {
+        LevelItems index = LEVELS.get(level);
+        if (index == null || index.byChunk.isEmpty()) return;
+
+        int minChunkX = SectionPos.blockToSectionCoord(box.minX);
+        int maxChunkX = SectionPos.blockToSectionCoord(box.maxX);
+        int minChunkZ = SectionPos.blockToSectionCoord(box.minZ);
+        int maxChunkZ = SectionPos.blockToSectionCoord(box.maxZ);
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ObjectArrayList<ItemEntity> items = index.byChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                if (items == null) continue;
+                for (int i = 0; i < items.size(); i++) {
+                    ItemEntity item = items.get(i);
+                    if (!item.isRemoved() && isSapling(item.getItem()) && item.getBoundingBox().intersects(box)) {
+                        out.add(item);
+                    }
+                }
+            }
+        }
+    }
+}
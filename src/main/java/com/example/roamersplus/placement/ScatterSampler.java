@@ -0,0 +1,125 @@
+package com.example.roamersplus.placement;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lazily samples well-spaced horizontal offsets from a ring around a center.
+ *
+ * The offsets of each ring (a disc of the given radius minus a square building area in the
+ * middle) are computed once and cached as packed ints. A sampler walks the shared table with a
+ * lazy Fisher-Yates shuffle over table indices, keeping only the swapped entries in a sparse
+ * map, so a sampler costs nothing per offset it never draws. It rejects any offset closer than
+ * the minimum spacing to one already accepted (dart-throwing Poisson-disk sampling). Callers
+ * stop drawing as soon as their quota is met.
+ *
+ * Not thread-safe; use one sampler per search. The shared tables are safe to use from any thread.
+ */
+public final class ScatterSampler {
+
+    private static final ConcurrentHashMap<Integer, int[]> tables = new ConcurrentHashMap<>();
+
+    private final int[] table;
+    // Table index -> table index that the shuffle swapped into it; absent entries map to themselves
+    private final Int2IntOpenHashMap swaps = new Int2IntOpenHashMap();
+    private final Random random;
+    private final int minSpacingSq;
+    private final IntArrayList accepted = new IntArrayList();
+    private int drawn;
+    private int current;
+
+    /**
+     * @param radius Outer radius of the ring
+     * @param innerHalfSize Offsets with both |x| and |z| at most this are skipped (building area)
+     * @param minSpacing Minimum distance between accepted offsets
+     * @param random Random source for the draw order
+     */
+    public ScatterSampler(int radius, int innerHalfSize, int minSpacing, Random random) {
+        this.table = offsets(radius, innerHalfSize);
+        this.random = random;
+        this.minSpacingSq = minSpacing * minSpacing;
+    }
+
+    /**
+     * Gets the cached ring offsets for a radius, packed as {@code (x << 16) | (z & 0xFFFF)}.
+     * The returned array is shared and must not be modified.
+     */
+    public static int[] offsets(int radius, int innerHalfSize) {
+        return tables.computeIfAbsent((radius << 8) | innerHalfSize, key -> buildTable(radius, innerHalfSize));
+    }
+
+    private static int[] buildTable(int radius, int innerHalfSize) {
+        IntArrayList offsets = new IntArrayList();
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                if (Math.abs(x) <= innerHalfSize && Math.abs(z) <= innerHalfSize) continue;
+                if (x * x + z * z <= radius * radius) {
+                    offsets.add(pack(x, z));
+                }
+            }
+        }
+        return offsets.toIntArray();
+    }
+
+    private static int pack(int x, int z) {
+        return (x << 16) | (z & 0xFFFF);
+    }
+
+    /**
+     * Draws the next offset that is far enough from every accepted offset.
+     *
+     * @return false when the ring is exhausted
+     */
+    public boolean next() {
+        while (drawn < table.length) {
+            // Lazy Fisher-Yates: swap a random remaining entry into the next slot
+            int pick = drawn + random.nextInt(table.length - drawn);
+            int picked = swaps.getOrDefault(pick, pick);
+            swaps.put(pick, swaps.getOrDefault(drawn, drawn));
+            swaps.remove(drawn++);
+            int offset = table[picked];
+
+            if (isSpacedOut(offset)) {
+                current = offset;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Marks the current offset as used, so later draws keep their distance from it.
+     */
+    public void accept() {
+        accepted.add(current);
+    }
+
+    /**
+     * Gets the X offset of the current draw.
+     */
+    public int x() {
+        return current >> 16;
+    }
+
+    /**
+     * Gets the Z offset of the current draw.
+     */
+    public int z() {
+        return (short) current;
+    }
+
+    private boolean isSpacedOut(int offset) {
+        int x = offset >> 16;
+        int z = (short) offset;
+        for (int i = 0; i < accepted.size(); i++) {
+            int other = accepted.getInt(i);
+            int dx = x - (other >> 16);
+            int dz = z - (short) other;
+            if (dx * dx + dz * dz < minSpacingSq) return false;
+        }
+        return true;
+    }
+}
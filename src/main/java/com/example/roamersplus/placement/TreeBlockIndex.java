@@ -0,0 +1,379 @@
+package com.example.roamersplus.placement;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.SaplingBlock;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.BlockGrowFeatureEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-level index of sapling and log positions, keyed by chunk.
+ *
+ * A chunk is indexed the first time it is queried, by scanning only the sections whose palette
+ * can hold a sapling or log. After that it is kept up to date from block place and break events
+ * and from our own {@link BlockWriteBatch} writes. Growing a tree does not fire place events, and
+ * the grow event fires before the tree is placed, so a box around the growing sapling is marked
+ * stale in each indexed chunk it overlaps and only that box is re-read on the chunk's next
+ * query. Changes no
+ * event reports (explosions, fire, pistons) can leave an entry stale until the chunk unloads;
+ * for clustering checks that only means a spot is skipped or a sapling lands a little closer.
+ *
+ * Main-thread only. Off-thread planning scans its {@link AreaSnapshot} into a {@link Region} instead.
+ */
+public final class TreeBlockIndex {
+
+    // Box around a growing sapling that its tree can change: sideways, above (tall jungle and
+    // spruce trees) and below (mangrove roots)
+    private static final int GROWTH_RADIUS = 6;
+    private static final int GROWTH_HEIGHT = 32;
+    private static final int GROWTH_DEPTH = 4;
+    // A chunk with more stale boxes than this is dropped and scanned in full instead
+    private static final int MAX_STALE_BOXES = 16;
+
+    private static final Map<ServerLevel, Long2ObjectOpenHashMap<ChunkEntry>> LEVELS = new IdentityHashMap<>();
+
+    private static final class ChunkEntry {
+        final LongOpenHashSet saplings = new LongOpenHashSet();
+        final LongOpenHashSet logs = new LongOpenHashSet();
+        // Boxes to re-read before the next query, as packed (min, max) corner pairs
+        final LongArrayList staleBoxes = new LongArrayList();
+    }
+
+    private TreeBlockIndex() {
+    }
+
+    /**
+     * Hooks index maintenance into block, chunk and level events.
+     */
+    public static void register() {
+        // Lowest priority, so cancelled events never reach the index
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, TreeBlockIndex::onBlockPlace);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, TreeBlockIndex::onBlockBreak);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, TreeBlockIndex::onGrowFeature);
+        NeoForge.EVENT_BUS.addListener(TreeBlockIndex::onChunkUnload);
+        NeoForge.EVENT_BUS.addListener(TreeBlockIndex::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(TreeBlockIndex::onServerStopped);
+    }
+
+    /**
+     * Checks whether a block state is tracked by the index.
+     */
+    public static boolean isTracked(BlockState state) {
+        return state.getBlock() instanceof SaplingBlock || state.is(BlockTags.LOGS);
+    }
+
+    private static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (event instanceof BlockEvent.EntityMultiPlaceEvent multi) {
+            for (BlockSnapshot snapshot : multi.getReplacedBlockSnapshots()) {
+                update(level, snapshot.getPos(), level.getBlockState(snapshot.getPos()));
+            }
+        } else {
+            update(level, event.getPos(), event.getPlacedBlock());
+        }
+    }
+
+    private static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            remove(level, event.getPos());
+        }
+    }
+
+    private static void onGrowFeature(BlockGrowFeatureEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectOpenHashMap<ChunkEntry> chunks = LEVELS.get(level);
+        if (chunks == null) return;
+
+        BlockPos pos = event.getPos();
+        int minX = pos.getX() - GROWTH_RADIUS;
+        int maxX = pos.getX() + GROWTH_RADIUS;
+        int minZ = pos.getZ() - GROWTH_RADIUS;
+        int maxZ = pos.getZ() + GROWTH_RADIUS;
+        int minY = Math.max(pos.getY() - GROWTH_DEPTH, level.getMinBuildHeight());
+        int maxY = Math.min(pos.getY() + GROWTH_HEIGHT, level.getMaxBuildHeight() - 1);
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++) {
+                long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+                ChunkEntry entry = chunks.get(chunkKey);
+                if (entry == null) continue; // Not indexed yet; scanned in full when first queried
+                if (entry.staleBoxes.size() >= 2 * MAX_STALE_BOXES) {
+                    chunks.remove(chunkKey);
+                    continue;
+                }
+
+                // Clip the box to the chunk
+                int baseX = SectionPos.sectionToBlockCoord(chunkX);
+                int baseZ = SectionPos.sectionToBlockCoord(chunkZ);
+                entry.staleBoxes.add(BlockPos.asLong(Math.max(minX, baseX), minY, Math.max(minZ, baseZ)));
+                entry.staleBoxes.add(BlockPos.asLong(Math.min(maxX, baseX + 15), maxY, Math.min(maxZ, baseZ + 15)));
+            }
+        }
+    }
+
+    private static void onChunkUnload(ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        Long2ObjectOpenHashMap<ChunkEntry> chunks = LEVELS.get(level);
+        if (chunks != null) {
+            chunks.remove(event.getChunk().getPos().toLong());
+        }
+    }
+
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LEVELS.remove(level);
+        }
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        LEVELS.clear();
+    }
+
+    /**
+     * Records a block change. Chunks that have not been indexed yet are left alone; they pick the
+     * change up when they are first scanned.
+     */
+    public static void update(ServerLevel level, BlockPos pos, BlockState state) {
+        ChunkEntry entry = getIndexed(level, pos);
+        if (entry == null) return;
+
+        long key = pos.asLong();
+        if (state.getBlock() instanceof SaplingBlock) {
+            entry.saplings.add(key);
+            entry.logs.remove(key);
+        } else if (state.is(BlockTags.LOGS)) {
+            entry.logs.add(key);
+            entry.saplings.remove(key);
+        } else {
+            entry.saplings.remove(key);
+            entry.logs.remove(key);
+        }
+    }
+
+    private static void remove(ServerLevel level, BlockPos pos) {
+        ChunkEntry entry = getIndexed(level, pos);
+        if (entry == null) return;
+        entry.saplings.remove(pos.asLong());
+        entry.logs.remove(pos.asLong());
+    }
+
+    private static ChunkEntry getIndexed(ServerLevel level, BlockPos pos) {
+        Long2ObjectOpenHashMap<ChunkEntry> chunks = LEVELS.get(level);
+        if (chunks == null) return null;
+        return chunks.get(ChunkPos.asLong(SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ())));
+    }
+
+    /**
+     * Gets the index entry for a chunk, scanning the chunk if it has not been indexed yet.
+     *
+     * @return the entry, or null if the chunk is not loaded
+     */
+    private static ChunkEntry getOrScan(ServerLevel level, int chunkX, int chunkZ) {
+        Long2ObjectOpenHashMap<ChunkEntry> chunks = LEVELS.computeIfAbsent(level, k -> new Long2ObjectOpenHashMap<>());
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        ChunkEntry entry = chunks.get(chunkKey);
+        if (entry != null && entry.staleBoxes.isEmpty()) return entry;
+
+        LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+        if (chunk == null) return null;
+        if (entry != null) {
+            rescanStale(chunk, entry);
+            return entry;
+        }
+
+        entry = new ChunkEntry();
+        LevelChunkSection[] sections = chunk.getSections();
+        int baseX = SectionPos.sectionToBlockCoord(chunkX);
+        int baseZ = SectionPos.sectionToBlockCoord(chunkZ);
+        for (int i = 0; i < sections.length; i++) {
+            LevelChunkSection section = sections[i];
+            // Skip sections whose palette cannot hold a sapling or log
+            if (section.hasOnlyAir() || !section.getStates().maybeHas(TreeBlockIndex::isTracked)) continue;
+
+            int baseY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(i));
+            scanSection(section.getStates(), baseX, baseY, baseZ, entry.saplings, entry.logs);
+        }
+        chunks.put(chunkKey, entry);
+        return entry;
+    }
+
+    /**
+     * Adds the saplings and logs of one section to the given sets. Reads only the section itself,
+     * so it is safe on any thread for sections copied off the level.
+     */
+    static void scanSection(PalettedContainer<BlockState> states, int baseX, int baseY, int baseZ,
+                            LongOpenHashSet saplings, LongOpenHashSet logs) {
+        for (int y = 0; y < 16; y++) {
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    BlockState state = states.get(x, y, z);
+                    if (state.getBlock() instanceof SaplingBlock) {
+                        saplings.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                    } else if (state.is(BlockTags.LOGS)) {
+                        logs.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-reads the stale boxes of an indexed chunk, replacing what the index held inside them.
+     */
+    private static void rescanStale(LevelChunk chunk, ChunkEntry entry) {
+        LongArrayList boxes = entry.staleBoxes;
+        for (int i = 0; i < boxes.size(); i += 2) {
+            long min = boxes.getLong(i);
+            long max = boxes.getLong(i + 1);
+            int minX = BlockPos.getX(min), minY = BlockPos.getY(min), minZ = BlockPos.getZ(min);
+            int maxX = BlockPos.getX(max), maxY = BlockPos.getY(max), maxZ = BlockPos.getZ(max);
+
+            removeInBox(entry.saplings, minX, minY, minZ, maxX, maxY, maxZ);
+            removeInBox(entry.logs, minX, minY, minZ, maxX, maxY, maxZ);
+
+            for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                if (section.hasOnlyAir() || !section.getStates().maybeHas(TreeBlockIndex::isTracked)) continue;
+
+                int fromY = Math.max(minY, SectionPos.sectionToBlockCoord(sectionY));
+                int toY = Math.min(maxY, SectionPos.sectionToBlockCoord(sectionY) + 15);
+                for (int y = fromY; y <= toY; y++) {
+                    for (int z = minZ; z <= maxZ; z++) {
+                        for (int x = minX; x <= maxX; x++) {
+                            BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+                            if (state.getBlock() instanceof SaplingBlock) {
+                                entry.saplings.add(BlockPos.asLong(x, y, z));
+                            } else if (state.is(BlockTags.LOGS)) {
+                                entry.logs.add(BlockPos.asLong(x, y, z));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        boxes.clear();
+    }
+
+    private static void removeInBox(LongOpenHashSet positions, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        LongIterator it = positions.iterator();
+        while (it.hasNext()) {
+            long key = it.nextLong();
+            int x = BlockPos.getX(key);
+            int y = BlockPos.getY(key);
+            int z = BlockPos.getZ(key);
+            if (x >= minX && x <= maxX && y >= minY && y <= maxY && z >= minZ && z <= maxZ) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks for a sapling or log within a box around a position, on the main thread.
+     *
+     * @param radius horizontal radius of the box
+     * @param height vertical radius of the box
+     */
+    public static boolean hasTreeBlockNearby(ServerLevel level, BlockPos pos, int radius, int height) {
+        int minChunkX = SectionPos.blockToSectionCoord(pos.getX() - radius);
+        int maxChunkX = SectionPos.blockToSectionCoord(pos.getX() + radius);
+        int minChunkZ = SectionPos.blockToSectionCoord(pos.getZ() - radius);
+        int maxChunkZ = SectionPos.blockToSectionCoord(pos.getZ() + radius);
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ChunkEntry entry = getOrScan(level, chunkX, chunkZ);
+                if (entry == null) continue;
+                if (anyWithin(entry.saplings, pos, radius, height) || anyWithin(entry.logs, pos, radius, height)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks a chunk's positions against a box, by iterating the set or probing the box,
+     * whichever touches fewer entries.
+     */
+    private static boolean anyWithin(LongOpenHashSet positions, BlockPos pos, int radius, int height) {
+        if (positions.isEmpty()) return false;
+
+        int volume = (2 * radius + 1) * (2 * radius + 1) * (2 * height + 1);
+        if (positions.size() <= volume) {
+            LongIterator it = positions.iterator();
+            while (it.hasNext()) {
+                long key = it.nextLong();
+                if (Math.abs(BlockPos.getX(key) - pos.getX()) <= radius
+                    && Math.abs(BlockPos.getZ(key) - pos.getZ()) <= radius
+                    && Math.abs(BlockPos.getY(key) - pos.getY()) <= height) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        for (int x = -radius; x <= radius; x++) {
+            for (int z = -radius; z <= radius; z++) {
+                for (int y = -height; y <= height; y++) {
+                    if (positions.contains(BlockPos.asLong(pos.getX() + x, pos.getY() + y, pos.getZ() + z))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Saplings and logs found in an {@link AreaSnapshot}, safe to read from planning threads.
+     */
+    public static final class Region {
+        private final Long2ObjectOpenHashMap<LongOpenHashSet> positionsByChunk;
+
+        Region(Long2ObjectOpenHashMap<LongOpenHashSet> positionsByChunk) {
+            this.positionsByChunk = positionsByChunk;
+        }
+
+        /**
+         * Checks for a sapling or log within a box around a position.
+         *
+         * @param radius horizontal radius of the box
+         * @param height vertical radius of the box
+         */
+        public boolean hasTreeBlockNearby(BlockPos pos, int radius, int height) {
+            int minChunkX = SectionPos.blockToSectionCoord(pos.getX() - radius);
+            int maxChunkX = SectionPos.blockToSectionCoord(pos.getX() + radius);
+            int minChunkZ = SectionPos.blockToSectionCoord(pos.getZ() - radius);
+            int maxChunkZ = SectionPos.blockToSectionCoord(pos.getZ() + radius);
+
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                    LongOpenHashSet positions = positionsByChunk.get(ChunkPos.asLong(chunkX, chunkZ));
+                    if (positions != null && anyWithin(positions, pos, radius, height)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.roamersplus.schedule;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.neoforged.bus.api.EventPriority;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.event.level.BlockEvent;
+import net.neoforged.neoforge.event.level.BlockGrowFeatureEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-level queue of saplings waiting for bonemeal, each tagged with the roamer that placed it.
+ *
+ * Entries live in a fixed-size ring of packed positions and owner entity ids, so enqueue and
+ * dequeue are O(1) and memory is bounded; when the ring is full the oldest entry is dropped.
+ * A map from position to ring index keeps each sapling queued at most once across all roamers,
+ * and is also what makes an entry live: block place and break events and tree growth remove a
+ * position from the map, and the dead ring slot is skipped when it reaches the head.
+ *
+ * At most one bonemeal job per level is queued in {@link WorkQueue} at a time.
+ * Main-thread only.
+ */
+public class BonemealQueue {
+
+    public static final long NO_POS = Long.MIN_VALUE;
+
+    // Ring size per level; a power of two
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    private static final Map<ServerLevel, LevelQueue> LEVELS = new IdentityHashMap<>();
+
+    private static class LevelQueue {
+        final long[] positions = new long[CAPACITY];
+        final int[] owners = new int[CAPACITY];
+        // Absolute ring indices; the slot of index i is i & MASK
+        long head;
+        long tail;
+        // Packed position -> ring index of its live entry
+        final Long2LongOpenHashMap live = new Long2LongOpenHashMap();
+        // Owner entity id -> live entries
+        final Int2IntOpenHashMap ownerCounts = new Int2IntOpenHashMap();
+        boolean jobQueued;
+
+        LevelQueue() {
+            live.defaultReturnValue(-1);
+        }
+    }
+
+    // Entries dropped because their sapling changed, or because the ring was full
+    private static long totalInvalidated;
+    private static long totalEvicted;
+
+    /**
+     * Hooks lazy invalidation into block and level events.
+     */
+    public static void register() {
+        // Lowest priority, so cancelled events never invalidate anything
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, BonemealQueue::onBlockPlace);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, BonemealQueue::onBlockBreak);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, BonemealQueue::onGrowFeature);
+        NeoForge.EVENT_BUS.addListener(BonemealQueue::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(BonemealQueue::onServerStopped);
+    }
+
+    private static void onBlockPlace(BlockEvent.EntityPlaceEvent event) {
+        if (!(event.getLevel() instanceof ServerLevel level)) return;
+        if (event instanceof BlockEvent.EntityMultiPlaceEvent multi) {
+            for (BlockSnapshot snapshot : multi.getReplacedBlockSnapshots()) {
+                invalidate(level, snapshot.getPos());
+            }
+        } else {
+            invalidate(level, event.getPos());
+        }
+    }
+
+    private static void onBlockBreak(BlockEvent.BreakEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            invalidate(level, event.getPos());
+        }
+    }
+
+    private static void onGrowFeature(BlockGrowFeatureEvent event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            invalidate(level, event.getPos());
+        }
+    }
+
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LEVELS.remove(level);
+        }
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        LEVELS.clear();
+        totalInvalidated = 0;
+        totalEvicted = 0;
+    }
+
+    /**
+     * Queues a sapling for bonemeal from its owner's inventory.
+     *
+     * @return false if the sapling was already queued
+     */
+    public static boolean enqueue(ServerLevel level, BlockPos pos, Entity owner) {
+        LevelQueue queue = LEVELS.computeIfAbsent(level, k -> new LevelQueue());
+        long key = pos.asLong();
+        if (queue.live.containsKey(key)) return false;
+
+        if (queue.tail - queue.head == CAPACITY) {
+            // Full: drop the oldest entry
+            if (removeHead(queue)) {
+                totalEvicted++;
+            }
+        }
+        push(queue, key, owner.getId());
+        return true;
+    }
+
+    private static void push(LevelQueue queue, long key, int ownerId) {
+        int slot = (int) (queue.tail & MASK);
+        queue.positions[slot] = key;
+        queue.owners[slot] = ownerId;
+        queue.live.put(key, queue.tail);
+        queue.ownerCounts.addTo(ownerId, 1);
+        queue.tail++;
+    }
+
+    /**
+     * Pops the head slot, live or not.
+     *
+     * @return true if it held a live entry
+     */
+    private static boolean removeHead(LevelQueue queue) {
+        int slot = (int) (queue.head & MASK);
+        long key = queue.positions[slot];
+        boolean wasLive = queue.live.get(key) == queue.head;
+        if (wasLive) {
+            queue.live.remove(key);
+            decrementOwner(queue, queue.owners[slot]);
+        }
+        queue.head++;
+        return wasLive;
+    }
+
+    private static void decrementOwner(LevelQueue queue, int ownerId) {
+        if (queue.ownerCounts.addTo(ownerId, -1) <= 1) {
+            queue.ownerCounts.remove(ownerId);
+        }
+    }
+
+    /**
+     * Drops the queued entry for a position, if any. Its ring slot is skipped later.
+     */
+    public static void invalidate(ServerLevel level, BlockPos pos) {
+        LevelQueue queue = LEVELS.get(level);
+        if (queue == null) return;
+        long index = queue.live.remove(pos.asLong());
+        if (index >= 0) {
+            decrementOwner(queue, queue.owners[(int) (index & MASK)]);
+            totalInvalidated++;
+        }
+    }
+
+    private static LevelQueue liveHead(ServerLevel level) {
+        LevelQueue queue = LEVELS.get(level);
+        if (queue == null) return null;
+        // Skip slots whose entry was invalidated
+        while (queue.head < queue.tail
+                && queue.live.get(queue.positions[(int) (queue.head & MASK)]) != queue.head) {
+            queue.head++;
+        }
+        return queue.head < queue.tail ? queue : null;
+    }
+
+    /**
+     * Gets the packed position of the oldest live entry.
+     *
+     * @return the position, or {@link #NO_POS} if the level's queue is empty
+     */
+    public static long peek(ServerLevel level) {
+        LevelQueue queue = liveHead(level);
+        return queue != null ? queue.positions[(int) (queue.head & MASK)] : NO_POS;
+    }
+
+    /**
+     * Gets the owner entity id of the oldest live entry. Only valid right after {@link #peek}
+     * returned a position.
+     */
+    public static int peekOwner(ServerLevel level) {
+        LevelQueue queue = LEVELS.get(level);
+        return queue.owners[(int) (queue.head & MASK)];
+    }
+
+    /**
+     * Removes the oldest live entry.
+     */
+    public static void pop(ServerLevel level) {
+        LevelQueue queue = liveHead(level);
+        if (queue != null) {
+            removeHead(queue);
+        }
+    }
+
+    /**
+     * Moves the oldest live entry to the back of the queue, to be tried again later.
+     */
+    public static void rotate(ServerLevel level) {
+        LevelQueue queue = liveHead(level);
+        if (queue == null) return;
+        int slot = (int) (queue.head & MASK);
+        long key = queue.positions[slot];
+        int ownerId = queue.owners[slot];
+        removeHead(queue);
+        push(queue, key, ownerId);
+    }
+
+    /**
+     * Gets the number of live entries for a level.
+     */
+    public static int size(ServerLevel level) {
+        LevelQueue queue = LEVELS.get(level);
+        return queue != null ? queue.live.size() : 0;
+    }
+
+    /**
+     * Gets the number of saplings a roamer has waiting for bonemeal.
+     */
+    public static int countFor(ServerLevel level, Entity owner) {
+        LevelQueue queue = LEVELS.get(level);
+        return queue != null ? queue.ownerCounts.get(owner.getId()) : 0;
+    }
+
+    /**
+     * Queues a level's bonemeal job in {@link WorkQueue}, unless the queue is empty or one is
+     * already queued for the level.
+     */
+    public static void submitJob(ServerLevel level, WorkQueue.WorkUnit unit) {
+        LevelQueue queue = LEVELS.get(level);
+        if (queue == null || queue.jobQueued || queue.live.isEmpty()) return;
+        queue.jobQueued = true;
+
+        WorkQueue.submit(WorkQueue.Priority.BONEMEAL, () -> {
+            boolean done = true;
+            try {
+                done = unit.run();
+            } finally {
+                if (done) {
+                    queue.jobQueued = false;
+                }
+            }
+            return done;
+        });
+    }
+
+    /**
+     * Gets the number of live entries, across all levels.
+     */
+    public static int size() {
+        int total = 0;
+        for (LevelQueue queue : LEVELS.values()) {
+            total += queue.live.size();
+        }
+        return total;
+    }
+
+    public static long getTotalInvalidated() {
+        return totalInvalidated;
+    }
+
+    public static long getTotalEvicted() {
+        return totalEvicted;
+    }
+}
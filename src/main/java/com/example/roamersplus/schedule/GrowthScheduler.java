@@ -0,0 +1,175 @@
+package com.example.roamersplus.schedule;
+
+import com.example.roamersplus.RoamersPlusConfig;
+import com.example.roamersplus.RoamersPlusMod;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.SaplingBlock;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-level queue of sapling growth stages, kept apart from sapling placement and bonemealing.
+ *
+ * Bonemealing a sapling only requests growth stages here. Each level tick works through the
+ * queue in order, but stops once it has run the configured number of tree generations (the
+ * stage that places a full tree feature). The cheap first stage does not count toward that
+ * limit. Positions whose chunk is not loaded keep their stages for a later tick; positions that
+ * are no longer saplings are dropped.
+ * Nothing runs while the {@link MsptGovernor} has suspended throttled work.
+ */
+public class GrowthScheduler {
+
+    private static final Map<ServerLevel, LevelGrowth> LEVELS = new IdentityHashMap<>();
+
+    private static class LevelGrowth {
+        final LongArrayFIFOQueue order = new LongArrayFIFOQueue();
+        // Packed sapling position -> growth stages still to run
+        final Long2IntOpenHashMap pendingStages = new Long2IntOpenHashMap();
+    }
+
+    // Counts for the tick in progress, and the last completed tick
+    private static int currentStages;
+    private static int currentTrees;
+    private static int currentSkipped;
+    private static int lastTickStages;
+    private static int lastTickTrees;
+    private static int lastTickSkipped;
+    private static long totalTrees;
+
+    /**
+     * Requests growth stages for a sapling. Stages for a position that is already queued are added
+     * to its pending count.
+     */
+    public static void request(ServerLevel level, BlockPos pos, int stages) {
+        if (stages <= 0) return;
+        LevelGrowth growth = LEVELS.computeIfAbsent(level, k -> new LevelGrowth());
+        long key = pos.asLong();
+        if (growth.pendingStages.addTo(key, stages) == 0) {
+            growth.order.enqueue(key);
+        }
+    }
+
+    /**
+     * Checks whether a sapling already has growth stages queued.
+     */
+    public static boolean isQueued(ServerLevel level, BlockPos pos) {
+        LevelGrowth growth = LEVELS.get(level);
+        return growth != null && growth.pendingStages.containsKey(pos.asLong());
+    }
+
+    /**
+     * Runs queued growth for a level, up to the per-tick tree generation limit.
+     */
+    public static void tick(ServerLevel level) {
+        LevelGrowth growth = LEVELS.get(level);
+        if (growth == null || growth.order.isEmpty()) return;
+        if (MsptGovernor.getLevel() == MsptGovernor.ThrottleLevel.SUSPENDED) return;
+
+        int treeBudget = RoamersPlusConfig.MAX_TREE_GROWTHS_PER_TICK.get();
+        int trees = 0;
+
+        // Each position is visited at most once per tick
+        for (int remaining = growth.order.size(); remaining > 0 && trees < treeBudget; remaining--) {
+            long key = growth.order.dequeueLong();
+            int stages = growth.pendingStages.remove(key);
+            BlockPos pos = BlockPos.of(key);
+
+            // Chunk unloaded: the bonemeal is already paid for, so keep the stages for a later tick
+            if (level.getChunkSource().getChunkNow(SectionPos.blockToSectionCoord(pos.getX()),
+                    SectionPos.blockToSectionCoord(pos.getZ())) == null) {
+                growth.pendingStages.put(key, stages);
+                growth.order.enqueue(key);
+                currentSkipped++;
+                continue;
+            }
+
+            BlockState state = level.getBlockState(pos);
+            while (stages > 0 && trees < treeBudget && state.getBlock() instanceof SaplingBlock sapling) {
+                try {
+                    // Stage 0 only advances the sapling; stage 1 (or a sapling without stages) places the tree feature
+                    if (state.getOptionalValue(SaplingBlock.STAGE).orElse(1) != 0) {
+                        trees++;
+                        currentTrees++;
+                        totalTrees++;
+                    }
+                    sapling.advanceTree(level, pos, state, level.random);
+                } catch (Exception e) {
+                    RoamersPlusMod.LOGGER.error("Error growing sapling at {}: {}", pos, e.getMessage());
+                    stages = 0;
+                    break;
+                }
+                stages--;
+                currentStages++;
+                state = level.getBlockState(pos);
+            }
+
+            // Out of budget partway: keep the rest for a later tick
+            if (stages > 0 && state.getBlock() instanceof SaplingBlock) {
+                growth.pendingStages.put(key, stages);
+                growth.order.enqueue(key);
+            }
+        }
+    }
+
+    /**
+     * Publishes the previous tick's counts and starts counting a new tick.
+     */
+    public static void startTick() {
+        lastTickStages = currentStages;
+        lastTickTrees = currentTrees;
+        lastTickSkipped = currentSkipped;
+        currentStages = 0;
+        currentTrees = 0;
+        currentSkipped = 0;
+    }
+
+    /**
+     * Gets the number of saplings waiting to grow, across all levels.
+     */
+    public static int size() {
+        int total = 0;
+        for (LevelGrowth growth : LEVELS.values()) {
+            total += growth.order.size();
+        }
+        return total;
+    }
+
+    public static int getLastTickStages() {
+        return lastTickStages;
+    }
+
+    public static int getLastTickTrees() {
+        return lastTickTrees;
+    }
+
+    public static int getLastTickSkipped() {
+        return lastTickSkipped;
+    }
+
+    public static long getTotalTrees() {
+        return totalTrees;
+    }
+
+    /**
+     * Drops all queued growth for a level (called when the level unloads).
+     */
+    public static void unloadLevel(ServerLevel level) {
+        LEVELS.remove(level);
+    }
+
+    /**
+     * Drops all queued growth and resets the counters (called when the server stops).
+     */
+    public static void clear() {
+        LEVELS.clear();
+        currentStages = currentTrees = currentSkipped = 0;
+        lastTickStages = lastTickTrees = lastTickSkipped = 0;
+        totalTrees = 0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.roamersplus.schedule;
+
+import com.example.roamersplus.RoamersPlusConfig;
+import com.example.roamersplus.RoamersPlusMod;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Adapts RoamersPlus work to server load.
+ *
+ * Samples the server's rolling average tick time and moves between throttle levels when it
+ * crosses the configured thresholds. Throttled jobs ({@link RoamerJob#isThrottled()}) have their
+ * intervals stretched, or are suspended entirely, at higher levels. Levels drop again one step at
+ * a time once MSPT has fallen a hysteresis margin below the threshold that raised them.
+ */
+public class MsptGovernor {
+
+    /**
+     * Throttle levels, from no throttling to fully suspended.
+     */
+    public enum ThrottleLevel {
+        NORMAL(1),
+        STRETCHED(2),
+        HEAVY(4),
+        SUSPENDED(0);
+
+        private final int intervalMultiplier;
+
+        ThrottleLevel(int intervalMultiplier) {
+            this.intervalMultiplier = intervalMultiplier;
+        }
+
+        public int getIntervalMultiplier() {
+            return intervalMultiplier;
+        }
+    }
+
+    // Re-evaluate once per second
+    private static final int SAMPLE_INTERVAL = 20;
+
+    private static ThrottleLevel level = ThrottleLevel.NORMAL;
+    private static double averageMspt;
+
+    /**
+     * Samples the server tick time and updates the throttle level. Called every server tick.
+     */
+    public static void tick(MinecraftServer server) {
+        if (server.getTickCount() % SAMPLE_INTERVAL != 0) return;
+
+        // Average over the server's last 100 ticks
+        averageMspt = server.getAverageTickTimeNanos() / 1_000_000.0;
+
+        ThrottleLevel target = levelFor(averageMspt);
+        if (target.ordinal() > level.ordinal()) {
+            setLevel(target);
+        } else if (level != ThrottleLevel.NORMAL
+                && averageMspt < thresholdFor(level) - RoamersPlusConfig.THROTTLE_HYSTERESIS_MSPT.get()) {
+            // Recover one step at a time once load has clearly dropped
+            setLevel(ThrottleLevel.values()[level.ordinal() - 1]);
+        }
+    }
+
+    private static ThrottleLevel levelFor(double mspt) {
+        if (mspt >= RoamersPlusConfig.THROTTLE_SUSPEND_MSPT.get()) return ThrottleLevel.SUSPENDED;
+        if (mspt >= RoamersPlusConfig.THROTTLE_HEAVY_MSPT.get()) return ThrottleLevel.HEAVY;
+        if (mspt >= RoamersPlusConfig.THROTTLE_START_MSPT.get()) return ThrottleLevel.STRETCHED;
+        return ThrottleLevel.NORMAL;
+    }
+
+    private static double thresholdFor(ThrottleLevel throttleLevel) {
+        return switch (throttleLevel) {
+            case SUSPENDED -> RoamersPlusConfig.THROTTLE_SUSPEND_MSPT.get();
+            case HEAVY -> RoamersPlusConfig.THROTTLE_HEAVY_MSPT.get();
+            case STRETCHED -> RoamersPlusConfig.THROTTLE_START_MSPT.get();
+            case NORMAL -> 0.0;
+        };
+    }
+
+    private static void setLevel(ThrottleLevel newLevel) {
+        RoamersPlusMod.LOGGER.info("RoamersPlus throttle {} -> {} (average tick {} ms)",
+            level, newLevel, String.format("%.1f", averageMspt));
+        level = newLevel;
+    }
+
+    /**
+     * Gets the effective interval for a throttled job, or 0 if the job is suspended.
+     */
+    public static int getInterval(RoamerJob job) {
+        return job.getInterval() * level.getIntervalMultiplier();
+    }
+
+    public static ThrottleLevel getLevel() {
+        return level;
+    }
+
+    public static double getAverageMspt() {
+        return averageMspt;
+    }
+
+    /**
+     * Resets to no throttling (called when the server stops).
+     */
+    public static void reset() {
+        level = ThrottleLevel.NORMAL;
+        averageMspt = 0;
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.roamersplus.schedule;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Per-level replant jobs, one per roamer, ordered by the game tick of their next attempt.
+ *
+ * A job is created when a roamer starts felling a tree. It is first tried a moment later, once
+ * drops have spawned, then retried every {@link RoamerJob#REPLANT} interval. Each job has an
+ * absolute expiry tick and a bounded number of attempts; an expired job is dropped when it
+ * reaches the head of the queue, without looking at the roamer. Every job ends with one
+ * {@link Result}, counted for the status command.
+ *
+ * A job that is replaced (a new tree) or moved earlier is flagged and skipped when it reaches the
+ * head, so every queue operation is O(log n). Main-thread only.
+ */
+public class ReplantQueue {
+
+    // Give up on a replant this long after its first attempt, or after this many attempts
+    private static final int EXPIRY_TICKS = 100;
+    private static final int MAX_ATTEMPTS = 5;
+
+    /**
+     * How a replant job ended.
+     */
+    public enum Result {
+        REPLANTED,
+        // Dropped saplings were out of the roamer's reach
+        OUT_OF_REACH,
+        EXPIRED,
+        OUT_OF_ATTEMPTS,
+        // The roamer left the level
+        ROAMER_GONE,
+        // The roamer started felling another tree first
+        SUPERSEDED
+    }
+
+    /**
+     * A roamer's pending replant.
+     */
+    public static final class Job {
+        private final int roamerId;
+        private final long expiryTick;
+        private final long sequence;
+        private long dueTick;
+        private int attempts;
+        private boolean cancelled;
+        private boolean inFlight;
+
+        private Job(int roamerId, long dueTick, long expiryTick, int attempts, long sequence) {
+            this.roamerId = roamerId;
+            this.dueTick = dueTick;
+            this.expiryTick = expiryTick;
+            this.attempts = attempts;
+            this.sequence = sequence;
+        }
+
+        public int getRoamerId() {
+            return roamerId;
+        }
+
+        /**
+         * Checks whether the job was ended or replaced, possibly while an attempt was in flight.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final Comparator<Job> BY_DUE_TICK =
+        Comparator.<Job>comparingLong(job -> job.dueTick).thenComparingLong(job -> job.sequence);
+
+    private static class LevelJobs {
+        final PriorityQueue<Job> queue = new PriorityQueue<>(BY_DUE_TICK);
+        // Roamer entity id -> its live job
+        final Int2ObjectOpenHashMap<Job> byRoamer = new Int2ObjectOpenHashMap<>();
+    }
+
+    private static final Map<ServerLevel, LevelJobs> LEVELS = new IdentityHashMap<>();
+    private static final Result[] RESULTS = Result.values();
+    private static final long[] totals = new long[RESULTS.length];
+    private static long nextSequence;
+
+    /**
+     * Hooks cleanup into level and server events.
+     */
+    public static void register() {
+        NeoForge.EVENT_BUS.addListener(ReplantQueue::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(ReplantQueue::onServerStopped);
+    }
+
+    private static void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel level) {
+            LEVELS.remove(level);
+        }
+    }
+
+    private static void onServerStopped(ServerStoppedEvent event) {
+        LEVELS.clear();
+        Arrays.fill(totals, 0);
+    }
+
+    /**
+     * Creates a roamer's replant job, replacing any job it still has.
+     *
+     * @param startTick Game tick of the first attempt
+     */
+    public static void schedule(ServerLevel level, Entity roamer, long startTick) {
+        LevelJobs jobs = LEVELS.computeIfAbsent(level, k -> new LevelJobs());
+        Job previous = jobs.byRoamer.get(roamer.getId());
+        if (previous != null) {
+            end(jobs, previous, Result.SUPERSEDED);
+        }
+        Job job = new Job(roamer.getId(), startTick, startTick + EXPIRY_TICKS, 0, nextSequence++);
+        jobs.byRoamer.put(job.roamerId, job);
+        jobs.queue.add(job);
+    }
+
+    /**
+     * Moves a roamer's next replant attempt forward to the given tick, if it is waiting for a later one.
+     */
+    public static void expedite(ServerLevel level, Entity roamer, long tick) {
+        LevelJobs jobs = LEVELS.get(level);
+        Job job = jobs != null ? jobs.byRoamer.get(roamer.getId()) : null;
+        if (job == null || job.inFlight || job.dueTick <= tick) return;
+
+        // Re-queue a copy; the old entry is skipped when it reaches the head
+        job.cancelled = true;
+        Job moved = new Job(job.roamerId, tick, job.expiryTick, job.attempts, nextSequence++);
+        jobs.byRoamer.put(moved.roamerId, moved);
+        jobs.queue.add(moved);
+    }
+
+    /**
+     * Takes the next job whose attempt is due, dropping replaced and expired jobs on the way.
+     * The job is out of the queue until {@link #finish} is called for the attempt.
+     *
+     * @return the job, or null if no attempt is due
+     */
+    public static Job pollDue(ServerLevel level, long now) {
+        LevelJobs jobs = LEVELS.get(level);
+        if (jobs == null) return null;
+
+        Job job;
+        while ((job = jobs.queue.peek()) != null && job.dueTick <= now) {
+            jobs.queue.poll();
+            if (job.cancelled) continue;
+            if (now >= job.expiryTick) {
+                end(jobs, job, Result.EXPIRED);
+                continue;
+            }
+            job.inFlight = true;
+            return job;
+        }
+        return null;
+    }
+
+    /**
+     * Records the outcome of an attempt.
+     *
+     * @param result How the job ended, or null to try again later
+     */
+    public static void finish(ServerLevel level, Job job, Result result, long now) {
+        job.inFlight = false;
+        LevelJobs jobs = LEVELS.get(level);
+        if (jobs == null || job.cancelled) return; // Level unloaded, or job replaced meanwhile
+
+        if (result == null) {
+            job.attempts++;
+            if (job.attempts < MAX_ATTEMPTS) {
+                // An attempt due past the expiry just drops the job then
+                job.dueTick = Math.min(now + RoamerJob.REPLANT.getInterval(), job.expiryTick);
+                jobs.queue.add(job);
+                return;
+            }
+            result = Result.OUT_OF_ATTEMPTS;
+        }
+        end(jobs, job, result);
+    }
+
+    private static void end(LevelJobs jobs, Job job, Result result) {
+        job.cancelled = true;
+        jobs.byRoamer.remove(job.roamerId, job);
+        totals[result.ordinal()]++;
+    }
+
+    /**
+     * Gets the number of pending replant jobs, across all levels.
+     */
+    public static int size() {
+        int total = 0;
+        for (LevelJobs jobs : LEVELS.values()) {
+            total += jobs.byRoamer.size();
+        }
+        return total;
+    }
+
+    /**
+     * Gets how many replant jobs ended with a result since the server started.
+     */
+    public static long getTotal(Result result) {
+        return totals[result.ordinal()];
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.roamersplus.schedule;
+
+/**
+ * Periodic per-roamer jobs and their base intervals in ticks.
+ * Throttled jobs are stretched or suspended by {@link MsptGovernor} when the server is under load.
+ */
+public enum RoamerJob {
+    // Scatter saplings once the roamer has a home, a few per run
+    SCATTER(20, true),
+    // Apply queued bonemeal to saplings the roamer placed
+    BONEMEAL(20, true),
+    // Publish inventory changes to subscribers (see InventoryTracker); kept steady under load
+    INVENTORY_POLL(20, false),
+    // Retry interval of replanting after chopping (see ReplantQueue)
+    REPLANT(20, false),
+    // Detect and recover roamers stuck on navigation
+    STUCK_CHECK(20, true),
+    // Grant needed items to roamers idle for too long
+    PITY(20, false),
+    // Place a crafting table for roamers that need one
+    CRAFTING_TABLE(100, false),
+    // Plant saplings from inventory around home
+    PLANT(200, true),
+    // Rotate sapling stacks so different types get used
+    ROTATE_SAPLINGS(600, false);
+
+    private final int interval;
+    private final boolean throttled;
+
+    RoamerJob(int interval, boolean throttled) {
+        this.interval = interval;
+        this.throttled = throttled;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public boolean isThrottled() {
+        return throttled;
+    }
+}
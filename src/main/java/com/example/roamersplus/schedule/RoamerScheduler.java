@@ -0,0 +1,83 @@
+package com.example.roamersplus.schedule;
+
+import com.example.roamersplus.state.RoamerState;
+import net.minecraft.world.entity.Entity;
+
+import java.util.Arrays;
+
+/**
+ * Spreads periodic roamer work evenly across ticks.
+ *
+ * Each roamer gets a phase derived from its UUID, and a job with interval N runs for that roamer
+ * on the ticks where {@code (gameTime + phase) % N == 0}. Roamers spawned or loaded together
+ * therefore land on different ticks instead of all running the same job at once.
+ *
+ * Throttled jobs use the interval from {@link MsptGovernor}, which stretches or suspends them
+ * under load. The scheduler also counts how many roamers each job touched, published per
+ * server tick.
+ */
+public class RoamerScheduler {
+
+    private static final RoamerJob[] JOBS = RoamerJob.values();
+
+    // Counts for the tick in progress and for the last completed tick
+    private static final int[] currentCounts = new int[JOBS.length];
+    private static final int[] lastTickCounts = new int[JOBS.length];
+
+    /**
+     * Computes the scheduling phase for a roamer from its UUID.
+     */
+    public static int phaseFor(Entity entity) {
+        long bits = entity.getUUID().getMostSignificantBits() ^ entity.getUUID().getLeastSignificantBits();
+        // Mix so nearby UUIDs still spread across the interval
+        bits *= 0x9E3779B97F4A7C15L;
+        return (int) (bits >>> 33);
+    }
+
+    /**
+     * Checks whether a job is due for a roamer on this tick, counting it if so.
+     */
+    public static boolean shouldRun(RoamerJob job, RoamerState state, long gameTime) {
+        if (!isDue(job, state, gameTime)) return false;
+        currentCounts[job.ordinal()]++;
+        return true;
+    }
+
+    /**
+     * Checks whether a job is due for a roamer on this tick without counting it.
+     */
+    public static boolean isDue(RoamerJob job, RoamerState state, long gameTime) {
+        int interval = job.isThrottled() ? MsptGovernor.getInterval(job) : job.getInterval();
+        return interval > 0 && isDue(interval, state, gameTime);
+    }
+
+    /**
+     * Counts a run of a job whose due-ness was already checked with {@link #isDue}, or that is not
+     * driven by the roamer's phase, such as a queued replant attempt.
+     */
+    public static void count(RoamerJob job) {
+        currentCounts[job.ordinal()]++;
+    }
+
+    /**
+     * Checks whether the roamer's phase lines up with the given interval on this tick.
+     */
+    public static boolean isDue(int interval, RoamerState state, long gameTime) {
+        return Math.floorMod(gameTime + state.schedulePhase, (long) interval) == 0;
+    }
+
+    /**
+     * Publishes the previous tick's counts and starts counting a new tick.
+     */
+    public static void startTick() {
+        System.arraycopy(currentCounts, 0, lastTickCounts, 0, currentCounts.length);
+        Arrays.fill(currentCounts, 0);
+    }
+
+    /**
+     * Gets how many roamers a job touched during the last completed tick.
+     */
+    public static int getLastTickCount(RoamerJob job) {
+        return lastTickCounts[job.ordinal()];
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.roamersplus.schedule;
+
+import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.state.RoamerState;
+import net.minecraft.world.entity.Entity;
+
+import java.util.ArrayDeque;
+
+/**
+ * Global queue of deferred RoamersPlus work, drained once per server tick within a time budget.
+ *
+ * Work is split into resumable {@link WorkUnit}s. Each drain runs units in priority order
+ * until the budget is spent; a unit that reports it is not finished stays at the head of its
+ * queue and continues on the next call. Anything left over carries to the next tick.
+ */
+public class WorkQueue {
+
+    /**
+     * Work priorities, highest first.
+     */
+    public enum Priority {
+        REPLANT,
+        BONEMEAL,
+        PLANT,
+        CRAFTING_TABLE,
+        SCATTER
+    }
+
+    /**
+     * A resumable piece of work.
+     */
+    @FunctionalInterface
+    public interface WorkUnit {
+        /**
+         * Runs one step of work.
+         *
+         * @return true if the work is finished, false to be called again later
+         */
+        boolean run();
+    }
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @SuppressWarnings("unchecked")
+    private static final ArrayDeque<WorkUnit>[] queues = new ArrayDeque[PRIORITIES.length];
+
+    static {
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    // Stats for the last drain
+    private static int lastTickSteps;
+    private static long lastTickNanos;
+
+    /**
+     * Adds a unit of work.
+     */
+    public static void submit(Priority priority, WorkUnit unit) {
+        queues[priority.ordinal()].addLast(unit);
+    }
+
+    /**
+     * Adds a unit of work on behalf of a roamer. At most one unit per roamer and job is queued at
+     * a time, and none while that job has a placement being planned; the unit is dropped if the
+     * roamer is removed before it finishes.
+     */
+    public static void submitForRoamer(Entity roamer, RoamerState state, RoamerJob job, Priority priority, WorkUnit unit) {
+        int bit = 1 << job.ordinal();
+        if (((state.queuedJobs | state.planningJobs) & bit) != 0) return;
+        state.queuedJobs |= bit;
+
+        submit(priority, () -> {
+            boolean done = true;
+            try {
+                if (!roamer.isRemoved()) {
+                    done = unit.run();
+                }
+            } finally {
+                if (done) {
+                    state.queuedJobs &= ~bit;
+                }
+            }
+            return done;
+        });
+    }
+
+    /**
+     * Runs queued work in priority order until the budget is spent.
+     *
+     * @param budgetNanos time budget for this call
+     */
+    public static void drain(long budgetNanos) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int steps = 0;
+
+        while (true) {
+            ArrayDeque<WorkUnit> queue = highestNonEmpty();
+            if (queue == null) break;
+            // Always make some progress, even with a tiny budget
+            if (steps > 0 && System.nanoTime() >= deadline) break;
+
+            WorkUnit unit = queue.peekFirst();
+            boolean done;
+            try {
+                done = unit.run();
+            } catch (Exception e) {
+                RoamersPlusMod.LOGGER.error("Error in deferred RoamersPlus work: {}", e.getMessage());
+                done = true;
+            }
+            steps++;
+
+            if (done) {
+                queue.pollFirst();
+            }
+        }
+
+        lastTickSteps = steps;
+        lastTickNanos = System.nanoTime() - start;
+    }
+
+    private static ArrayDeque<WorkUnit> highestNonEmpty() {
+        for (ArrayDeque<WorkUnit> queue : queues) {
+            if (!queue.isEmpty()) return queue;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of units waiting (including partially finished ones).
+     */
+    public static int size() {
+        int total = 0;
+        for (ArrayDeque<WorkUnit> queue : queues) {
+            total += queue.size();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the number of units waiting at a priority.
+     */
+    public static int size(Priority priority) {
+        return queues[priority.ordinal()].size();
+    }
+
+    /**
+     * Gets how many work steps ran during the last drain.
+     */
+    public static int getLastTickSteps() {
+        return lastTickSteps;
+    }
+
+    /**
+     * Gets how long the last drain took, in nanoseconds.
+     */
+    public static long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Drops all queued work (called when the server stops).
+     */
+    public static void clear() {
+        for (ArrayDeque<WorkUnit> queue : queues) {
+            queue.clear();
+        }
+    }
+}
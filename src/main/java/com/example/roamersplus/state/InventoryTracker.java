@@ -0,0 +1,122 @@
+package com.example.roamersplus.state;
+
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks changes to a roamer's inventory and publishes them to subscribers.
+ *
+ * Each {@link #poll} compares the counts of the kinds in {@link RoamerInventoryIndex} (and of
+ * the item the roamer is idle waiting for, see {@link RoamerState#idleNeededItem}) with the
+ * previous poll and publishes a typed {@link Change} with the amount for every difference.
+ * Counts are kept in a primitive array per roamer and events carry no payload object, so a poll
+ * allocates nothing. The first poll, and the first after the container or the watched item
+ * changes, only records a baseline.
+ *
+ * Subscribers are registered once at startup. Main-thread only.
+ */
+public final class InventoryTracker {
+
+    /**
+     * Kinds of inventory change published to subscribers.
+     */
+    public enum Change {
+        SAPLING_GAINED,
+        SAPLING_CONSUMED,
+        BONEMEAL_GAINED,
+        BONEMEAL_CONSUMED,
+        // More of the item the roamer is idle waiting for
+        NEEDED_ITEM_ACQUIRED
+    }
+
+    /**
+     * Receives inventory changes of one kind.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+        /**
+         * @param amount Number of items gained or consumed since the previous poll
+         */
+        void onChange(Entity roamer, RoamerState state, Container inventory, int amount);
+    }
+
+    // Kinds whose counts are compared, with the change published for a gain and for a loss
+    private static final RoamerInventoryIndex.Kind[] TRACKED = {
+        RoamerInventoryIndex.Kind.SAPLING, RoamerInventoryIndex.Kind.BONEMEAL
+    };
+    private static final Change[] GAINED = {Change.SAPLING_GAINED, Change.BONEMEAL_GAINED};
+    private static final Change[] CONSUMED = {Change.SAPLING_CONSUMED, Change.BONEMEAL_CONSUMED};
+
+    private static final List<List<Subscriber>> SUBSCRIBERS = new ArrayList<>();
+
+    static {
+        for (int i = 0; i < Change.values().length; i++) {
+            SUBSCRIBERS.add(new ArrayList<>());
+        }
+    }
+
+    private final int[] counts = new int[TRACKED.length];
+    private Container bound;
+    private Item watchedItem;
+    private int watchedCount;
+
+    /**
+     * Registers a subscriber for one kind of change.
+     */
+    public static void subscribe(Change change, Subscriber subscriber) {
+        SUBSCRIBERS.get(change.ordinal()).add(subscriber);
+    }
+
+    /**
+     * Compares the roamer's inventory with the previous poll and publishes the differences.
+     */
+    public void poll(Entity roamer, RoamerState state, Container inventory) {
+        boolean baseline = inventory != bound;
+        bound = inventory;
+        state.inventoryIndex.markDirtyIfUnobserved(inventory);
+
+        for (int i = 0; i < TRACKED.length; i++) {
+            int count = count(state.inventoryIndex, inventory, TRACKED[i]);
+            int delta = count - counts[i];
+            counts[i] = count;
+            if (baseline || delta == 0) continue;
+            publish(delta > 0 ? GAINED[i] : CONSUMED[i], roamer, state, inventory, Math.abs(delta));
+        }
+
+        Item needed = state.idleNeededItem;
+        if (needed == null) {
+            watchedItem = null;
+            return;
+        }
+        int count = state.inventoryIndex.count(inventory, needed);
+        int delta = count - watchedCount;
+        boolean sameItem = needed == watchedItem;
+        watchedItem = needed;
+        watchedCount = count;
+        if (!baseline && sameItem && delta > 0) {
+            publish(Change.NEEDED_ITEM_ACQUIRED, roamer, state, inventory, delta);
+        }
+    }
+
+    private static void publish(Change change, Entity roamer, RoamerState state, Container inventory, int amount) {
+        List<Subscriber> subscribers = SUBSCRIBERS.get(change.ordinal());
+        for (int i = 0; i < subscribers.size(); i++) {
+            subscribers.get(i).onChange(roamer, state, inventory, amount);
+        }
+    }
+
+    // Summed from the indexed slots rather than the index totals, which miss in-place changes
+    private static int count(RoamerInventoryIndex index, Container inventory, RoamerInventoryIndex.Kind kind) {
+        IntList slots = index.slots(inventory, kind);
+        int total = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            total += inventory.getItem(slots.getInt(i)).getCount();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,276 @@
+package com.example.roamersplus.state;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.world.Container;
+import net.minecraft.world.ContainerListener;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.BlockItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.SaplingBlock;
+
+/**
+ * Slot index of a roamer's inventory for the item kinds RoamersPlus looks for.
+ *
+ * Keeps, per {@link Kind}, the slots holding that kind (in slot order) and their total count,
+ * plus the empty slots and the total count of every item. The index is rebuilt in one pass over the container when it is marked
+ * dirty: a {@link SimpleContainer} reports changes through a listener, and our own
+ * {@link #take} and {@link #add} keep it current. Other containers cannot report anything, so
+ * {@link #markDirtyIfUnobserved} is called on every inventory poll to pick up items that arrived
+ * in slots the index did not know about. Stacks can also change in place without any
+ * notification, so every lookup checks the slots it returns and rebuilds once if one no longer
+ * matches. Lookups are constant time in the common case.
+ *
+ * Totals are as of the last rebuild plus our own changes.
+ */
+public final class RoamerInventoryIndex implements ContainerListener {
+
+    /**
+     * Item kinds the index tracks.
+     */
+    public enum Kind {
+        BONEMEAL,
+        SAPLING,
+        CRAFTING_TABLE;
+
+        boolean matches(ItemStack stack) {
+            return switch (this) {
+                case BONEMEAL -> stack.is(Items.BONE_MEAL);
+                case SAPLING -> stack.getItem() instanceof BlockItem blockItem && blockItem.getBlock() instanceof SaplingBlock;
+                case CRAFTING_TABLE -> stack.is(Items.CRAFTING_TABLE);
+            };
+        }
+
+        static Kind of(ItemStack stack) {
+            for (Kind kind : KINDS) {
+                if (kind.matches(stack)) return kind;
+            }
+            return null;
+        }
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final IntArrayList[] slots = new IntArrayList[KINDS.length];
+    private final int[] totals = new int[KINDS.length];
+    private final IntArrayList emptySlots = new IntArrayList();
+    private final Object2IntOpenHashMap<Item> itemTotals = new Object2IntOpenHashMap<>();
+    private Container bound;
+    private boolean dirty = true;
+
+    public RoamerInventoryIndex() {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new IntArrayList();
+        }
+    }
+
+    @Override
+    public void containerChanged(Container container) {
+        dirty = true;
+    }
+
+    /**
+     * Marks the index for a rebuild on the next lookup.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Marks the index for a rebuild if the container does not report its changes to the index.
+     * Called periodically, so new items in other containers are found within one poll interval.
+     */
+    public void markDirtyIfUnobserved(Container inventory) {
+        if (!(inventory instanceof SimpleContainer)) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Gets the first slot holding the given kind.
+     *
+     * @return the slot, or -1 if there is none
+     */
+    public int firstSlot(Container inventory, Kind kind) {
+        prepare(inventory);
+        IntArrayList kindSlots = slots[kind.ordinal()];
+        if (kindSlots.isEmpty()) return -1;
+
+        int slot = kindSlots.getInt(0);
+        if (kind.matches(inventory.getItem(slot))) return slot;
+
+        // Changed in place since the last rebuild
+        rebuild(inventory);
+        return kindSlots.isEmpty() ? -1 : kindSlots.getInt(0);
+    }
+
+    /**
+     * Checks whether the inventory holds the given kind.
+     */
+    public boolean has(Container inventory, Kind kind) {
+        return firstSlot(inventory, kind) >= 0;
+    }
+
+    /**
+     * Gets all slots holding the given kind, in slot order. The list is owned by the index and
+     * only valid until the inventory changes.
+     */
+    public IntList slots(Container inventory, Kind kind) {
+        prepare(inventory);
+        IntArrayList kindSlots = slots[kind.ordinal()];
+        for (int i = 0; i < kindSlots.size(); i++) {
+            if (!kind.matches(inventory.getItem(kindSlots.getInt(i)))) {
+                rebuild(inventory);
+                break;
+            }
+        }
+        return kindSlots;
+    }
+
+    /**
+     * Gets the total count of the given kind.
+     */
+    public int count(Container inventory, Kind kind) {
+        prepare(inventory);
+        return totals[kind.ordinal()];
+    }
+
+    /**
+     * Gets the total count of an item, of any kind or none.
+     */
+    public int count(Container inventory, Item item) {
+        prepare(inventory);
+        return itemTotals.getInt(item);
+    }
+
+    /**
+     * Takes up to the given number of items of a kind, from the first slots holding it.
+     *
+     * @return number of items taken
+     */
+    public int take(Container inventory, Kind kind, int amount) {
+        int taken = 0;
+        while (taken < amount) {
+            int slot = firstSlot(inventory, kind);
+            if (slot < 0) break;
+
+            ItemStack stack = inventory.getItem(slot);
+            int take = Math.min(amount - taken, stack.getCount());
+            itemTotals.addTo(stack.getItem(), -take);
+            stack.shrink(take);
+            taken += take;
+            totals[kind.ordinal()] -= take;
+            if (stack.isEmpty()) {
+                inventory.setItem(slot, ItemStack.EMPTY);
+                dirty = true;
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Adds a stack, merging into slots of the same item before using an empty slot. Items of
+     * kinds the index does not track are placed with a plain scan.
+     *
+     * @return true if all of the stack fit
+     */
+    public boolean add(Container inventory, ItemStack stack) {
+        if (stack.isEmpty()) return true;
+        prepare(inventory);
+
+        Kind kind = Kind.of(stack);
+        if (kind == null) {
+            dirty = true;
+            return addByScan(inventory, stack);
+        }
+
+        IntList kindSlots = slots(inventory, kind);
+        for (int i = 0; i < kindSlots.size() && !stack.isEmpty(); i++) {
+            ItemStack slotStack = inventory.getItem(kindSlots.getInt(i));
+            if (ItemStack.isSameItemSameComponents(slotStack, stack) && slotStack.getCount() < slotStack.getMaxStackSize()) {
+                int canAdd = Math.min(stack.getCount(), slotStack.getMaxStackSize() - slotStack.getCount());
+                slotStack.grow(canAdd);
+                stack.shrink(canAdd);
+                totals[kind.ordinal()] += canAdd;
+                itemTotals.addTo(slotStack.getItem(), canAdd);
+            }
+        }
+        if (stack.isEmpty()) return true;
+
+        for (int i = 0; i < emptySlots.size(); i++) {
+            int slot = emptySlots.getInt(i);
+            if (inventory.getItem(slot).isEmpty()) {
+                inventory.setItem(slot, stack.copy());
+                stack.setCount(0);
+                dirty = true;
+                return true;
+            }
+        }
+
+        // Empty slots changed in place; fall back to a scan
+        dirty = true;
+        return addByScan(inventory, stack);
+    }
+
+    private static boolean addByScan(Container inventory, ItemStack stack) {
+        for (int i = 0; i < inventory.getContainerSize(); i++) {
+            ItemStack slotStack = inventory.getItem(i);
+            if (slotStack.isEmpty()) {
+                inventory.setItem(i, stack.copy());
+                stack.setCount(0);
+                return true;
+            } else if (ItemStack.isSameItemSameComponents(slotStack, stack) &&
+                       slotStack.getCount() < slotStack.getMaxStackSize()) {
+                int canAdd = Math.min(stack.getCount(), slotStack.getMaxStackSize() - slotStack.getCount());
+                slotStack.grow(canAdd);
+                stack.shrink(canAdd);
+                if (stack.isEmpty()) return true;
+            }
+        }
+        return false;
+    }
+
+    private void prepare(Container inventory) {
+        if (inventory != bound) {
+            // The roamer's container was replaced; listen to the new one
+            if (bound instanceof SimpleContainer simple) {
+                simple.removeListener(this);
+            }
+            if (inventory instanceof SimpleContainer simple) {
+                simple.addListener(this);
+            }
+            bound = inventory;
+            dirty = true;
+        }
+        if (dirty) {
+            rebuild(inventory);
+        }
+    }
+
+    private void rebuild(Container inventory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i].clear();
+            totals[i] = 0;
+        }
+        emptySlots.clear();
+        itemTotals.clear();
+
+        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
+            ItemStack stack = inventory.getItem(slot);
+            if (stack.isEmpty()) {
+                emptySlots.add(slot);
+                continue;
+            }
+            itemTotals.addTo(stack.getItem(), stack.getCount());
+            Kind kind = Kind.of(stack);
+            if (kind != null) {
+                slots[kind.ordinal()].add(slot);
+                totals[kind.ordinal()] += stack.getCount();
+            }
+        }
+        dirty = false;
+    }
+}
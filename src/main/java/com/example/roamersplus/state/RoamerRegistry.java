@@ -0,0 +1,137 @@
+package com.example.roamersplus.state;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks the roamers currently present in each server level so per-tick work only visits
+ * roamers instead of every entity in the world.
+ *
+ * Roamers are added when they join a level and removed when they leave it. Levels are dropped
+ * when they unload. Adds and removes are O(1) (swap-remove with an index map).
+ *
+ * Also remembers which roamer each Roamers fake player (by UUID) breaks blocks for, so block
+ * events can be attributed without searching for nearby roamers. A fake player profile seen
+ * acting for two live roamers is shared, and is never used as a shortcut again in that level.
+ */
+public class RoamerRegistry {
+
+    private static final Map<ServerLevel, LevelRoamers> LEVELS = new IdentityHashMap<>();
+
+    private static class LevelRoamers {
+        final ObjectArrayList<Entity> roamers = new ObjectArrayList<>();
+        final Reference2IntOpenHashMap<Entity> indices = new Reference2IntOpenHashMap<>();
+        // Fake player UUID -> roamer it last acted for
+        final Object2ObjectOpenHashMap<UUID, Entity> fakePlayerOwners = new Object2ObjectOpenHashMap<>();
+        // Fake player UUIDs seen acting for more than one live roamer
+        final ObjectOpenHashSet<UUID> sharedFakePlayers = new ObjectOpenHashSet<>();
+
+        LevelRoamers() {
+            indices.defaultReturnValue(-1);
+        }
+
+        void add(Entity entity) {
+            if (indices.containsKey(entity)) return;
+            indices.put(entity, roamers.size());
+            roamers.add(entity);
+        }
+
+        void remove(Entity entity) {
+            int index = indices.removeInt(entity);
+            if (index < 0) return;
+            fakePlayerOwners.values().removeIf(owner -> owner == entity);
+            Entity last = roamers.pop();
+            if (index < roamers.size()) {
+                roamers.set(index, last);
+                indices.put(last, index);
+            }
+        }
+    }
+
+    /**
+     * Registers a roamer in the given level.
+     */
+    public static void add(ServerLevel level, Entity roamer) {
+        LEVELS.computeIfAbsent(level, k -> new LevelRoamers()).add(roamer);
+    }
+
+    /**
+     * Removes a roamer from the given level.
+     */
+    public static void remove(ServerLevel level, Entity roamer) {
+        LevelRoamers roamers = LEVELS.get(level);
+        if (roamers != null) {
+            roamers.remove(roamer);
+        }
+    }
+
+    /**
+     * Gets the roamers registered in a level. The returned list is live; callers that remove
+     * entries while iterating must account for the swap-remove.
+     */
+    public static List<Entity> getRoamers(ServerLevel level) {
+        LevelRoamers roamers = LEVELS.get(level);
+        return roamers != null ? roamers.roamers : Collections.emptyList();
+    }
+
+    /**
+     * Gets the roamer a fake player acts for in a level.
+     *
+     * @return the roamer, or null if none is known, it has left the level, or the fake player
+     *         is shared between roamers
+     */
+    public static Entity getFakePlayerOwner(ServerLevel level, Entity fakePlayer) {
+        LevelRoamers roamers = LEVELS.get(level);
+        if (roamers == null) return null;
+        Entity owner = roamers.fakePlayerOwners.get(fakePlayer.getUUID());
+        return owner != null && !owner.isRemoved() && roamers.indices.containsKey(owner) ? owner : null;
+    }
+
+    /**
+     * Records the roamer a fake player acts for in a level. If the fake player is already
+     * recorded for another live roamer, its profile is shared and it is forgotten instead.
+     */
+    public static void setFakePlayerOwner(ServerLevel level, Entity fakePlayer, Entity roamer) {
+        LevelRoamers roamers = LEVELS.get(level);
+        if (roamers == null || !roamers.indices.containsKey(roamer)) return;
+
+        UUID uuid = fakePlayer.getUUID();
+        if (roamers.sharedFakePlayers.contains(uuid)) return;
+        Entity previous = roamers.fakePlayerOwners.get(uuid);
+        if (previous != null && previous != roamer && !previous.isRemoved() && roamers.indices.containsKey(previous)) {
+            // Crediting either roamer could be wrong; always search near the block instead
+            roamers.fakePlayerOwners.remove(uuid);
+            roamers.sharedFakePlayers.add(uuid);
+            return;
+        }
+        roamers.fakePlayerOwners.put(uuid, roamer);
+    }
+
+    /**
+     * Gets the number of roamers registered across all levels.
+     */
+    public static int size() {
+        int total = 0;
+        for (LevelRoamers roamers : LEVELS.values()) {
+            total += roamers.roamers.size();
+        }
+        return total;
+    }
+
+    /**
+     * Drops all roamers of a level that is unloading.
+     */
+    public static void unloadLevel(ServerLevel level) {
+        LEVELS.remove(level);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.roamersplus.state;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.world.item.Item;
+
+import java.util.Arrays;
+
+/**
+ * All RoamersPlus bookkeeping for a single roamer, attached to the entity through
+ * {@link RoamersPlusAttachments#ROAMER_STATE}.
+ *
+ * Fields are primitive where possible (positions are packed with {@code BlockPos.asLong}) so a
+ * tick does one attachment lookup per roamer and no boxing. The state lives and dies with the
+ * entity, so nothing needs to be cleaned up when a roamer is removed.
+ *
+ * Lifetime flags (kit given, saplings scattered, crafting table granted) are saved with the
+ * entity through {@link #CODEC}, so a roamer never repeats that work after a chunk reload or
+ * server restart. So is the progress of an unfinished scatter, so it resumes where it stopped.
+ * Everything else is transient and rebuilt at runtime.
+ */
+public class RoamerState {
+
+    // Marker for "no position recorded" in packed position fields
+    public static final long NO_POS = Long.MIN_VALUE;
+
+    // Bits of the persisted "flags" field
+    private static final int FLAG_SAPLINGS_GIVEN = 1;
+    private static final int FLAG_SAPLINGS_SCATTERED = 1 << 1;
+    private static final int FLAG_CRAFTING_TABLE_PLACED = 1 << 2;
+
+    private static final Codec<LongArrayList> POSITIONS_CODEC = Codec.LONG_STREAM.xmap(
+        stream -> new LongArrayList(stream.toArray()), list -> Arrays.stream(list.toLongArray()));
+
+    // Persisted form: all lifetime flags packed into a single int, plus scatter progress
+    public static final Codec<RoamerState> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        Codec.INT.optionalFieldOf("flags", 0).forGetter(RoamerState::packFlags),
+        POSITIONS_CODEC.optionalFieldOf("scatter_targets", new LongArrayList()).forGetter(state -> state.scatterTargets),
+        Codec.INT.optionalFieldOf("scatter_placed", 0).forGetter(state -> state.scatterPlaced)
+    ).apply(instance, RoamerState::fromSaved));
+
+    // Tick offset used to spread this roamer's periodic jobs (see RoamerScheduler)
+    public int schedulePhase;
+
+    // Bitmask of RoamerJob ordinals that currently have work queued in WorkQueue
+    public int queuedJobs;
+
+    // Bitmask of RoamerJob ordinals that currently have a placement being planned off-thread
+    public int planningJobs;
+
+    // Initial saplings/bonemeal have been given
+    public boolean saplingsGiven;
+
+    // Pre-excavation scatter has run
+    public boolean saplingsScattered;
+
+    // Scatter in progress: packed planned spots not yet tried, and saplings placed so far
+    public final LongArrayList scatterTargets = new LongArrayList();
+    public int scatterPlaced;
+
+    // Tree being felled: lowest log broken so far, its sapling, and the last log broken and when
+    // (entity tick count), so the logs of one tree share a single replant job (see ReplantQueue)
+    public long treeStumpPos = NO_POS;
+    public Item treeSapling;
+    public long treeLastLogPos = NO_POS;
+    public int treeLastBreakTick;
+
+    // Alternation index for sapling placement (helps enforce multi-type planting)
+    public int saplingAltIndex;
+
+    // Slots of the item kinds we look for in the roamer's inventory
+    public final RoamerInventoryIndex inventoryIndex = new RoamerInventoryIndex();
+
+    // Inventory counts as of the last poll, for publishing inventory changes
+    public final InventoryTracker inventoryTracker = new InventoryTracker();
+
+    // Stuck detection: last known position and number of seconds without progress
+    public long lastPos = NO_POS;
+    public int stuckCounter;
+
+    // We've helped place a crafting table for this roamer
+    public boolean craftingTablePlaced;
+
+    // Pity system idle tracking
+    public boolean idleTracked;
+    public long idleStartTime;
+    public Item idleNeededItem;
+    public boolean idleGrantedThisCycle;
+
+    private int packFlags() {
+        int flags = 0;
+        if (saplingsGiven) flags |= FLAG_SAPLINGS_GIVEN;
+        if (saplingsScattered) flags |= FLAG_SAPLINGS_SCATTERED;
+        if (craftingTablePlaced) flags |= FLAG_CRAFTING_TABLE_PLACED;
+        return flags;
+    }
+
+    private static RoamerState fromSaved(int flags, LongArrayList scatterTargets, int scatterPlaced) {
+        RoamerState state = new RoamerState();
+        state.scatterTargets.addAll(scatterTargets);
+        state.scatterPlaced = scatterPlaced;
+        state.saplingsGiven = (flags & FLAG_SAPLINGS_GIVEN) != 0;
+        state.saplingsScattered = (flags & FLAG_SAPLINGS_SCATTERED) != 0;
+        state.craftingTablePlaced = (flags & FLAG_CRAFTING_TABLE_PLACED) != 0;
+        return state;
+    }
+
+    public boolean hasScatterInProgress() {
+        return !scatterTargets.isEmpty();
+    }
+
+    public void finishScatter() {
+        saplingsScattered = true;
+        scatterTargets.clear();
+        scatterPlaced = 0;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.roamersplus.state;
+
+import com.example.roamersplus.RoamersPlusMod;
+import net.neoforged.bus.api.IEventBus;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.registries.DeferredRegister;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+
+import java.util.function.Supplier;
+
+/**
+ * Data attachment types registered by RoamersPlus.
+ */
+public class RoamersPlusAttachments {
+
+    private static final DeferredRegister<AttachmentType<?>> ATTACHMENT_TYPES =
+        DeferredRegister.create(NeoForgeRegistries.ATTACHMENT_TYPES, RoamersPlusMod.MODID);
+
+    // Per-roamer state (created on first access, lifetime flags saved with the entity)
+    public static final Supplier<AttachmentType<RoamerState>> ROAMER_STATE = ATTACHMENT_TYPES.register(
+        "roamer_state", () -> AttachmentType.builder(RoamerState::new).serialize(RoamerState.CODEC).build());
+
+    public static void register(IEventBus modEventBus) {
+        ATTACHMENT_TYPES.register(modEventBus);
+    }
+}
@@ -1,20 +1,17 @@
 package com.example.roamersplus.util;
 
 import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.state.RoamerState;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
-import java.util.Map;
-import java.util.UUID;
-import java.util.WeakHashMap;
-
 /**
  * Pity System: If a roamer is idle for 2 minutes needing an item they can't obtain,
  * grant them 16 of that item.
  * 
- * Uses WeakHashMap to prevent memory leaks - entries are automatically removed
- * when the entity is garbage collected.
+ * Idle state is stored in the roamer's {@link RoamerState} attachment, so it is
+ * released together with the entity and needs no separate tracking map.
  */
 public class PitySystem {
     
@@ -24,59 +21,42 @@ public class PitySystem {
     // Amount of items to grant
     private static final int PITY_GRANT_AMOUNT = 16;
     
-    // Track idle state per entity using WeakHashMap to prevent memory leaks
-    // Key: Entity, Value: IdleState
-    private static final WeakHashMap<LivingEntity, IdleState> idleTracker = new WeakHashMap<>();
-    
-    /**
-     * Internal class to track idle state
-     */
-    private static class IdleState {
-        long idleStartTime;
-        Item neededItem;
-        boolean grantedThisCycle;
-        
-        IdleState(Item neededItem) {
-            this.idleStartTime = System.currentTimeMillis();
-            this.neededItem = neededItem;
-            this.grantedThisCycle = false;
-        }
-    }
-    
     /**
      * Called when a roamer is detected as idle and needing an item.
      * Tracks the idle time and grants items after 2 minutes.
      * 
      * @param entity The roamer entity
+     * @param state The roamer's state attachment
      * @param neededItem The item the roamer needs
      * @param inventoryAdder Function to add items to the roamer's inventory
      * @return true if items were granted, false otherwise
      */
-    public static boolean trackIdleRoamer(LivingEntity entity, Item neededItem, 
+    public static boolean trackIdleRoamer(LivingEntity entity, RoamerState state, Item neededItem, 
                                           java.util.function.BiConsumer<LivingEntity, ItemStack> inventoryAdder) {
-        if (entity == null || neededItem == null) {
+        if (entity == null || state == null || neededItem == null) {
             return false;
         }
         
-        IdleState state = idleTracker.get(entity);
-        
-        if (state == null) {
+        if (!state.idleTracked) {
             // First time seeing this entity idle with this need
-            idleTracker.put(entity, new IdleState(neededItem));
+            state.idleTracked = true;
+            state.idleStartTime = System.currentTimeMillis();
+            state.idleNeededItem = neededItem;
+            state.idleGrantedThisCycle = false;
             return false;
         }
         
         // Check if they're still needing the same item
-        if (state.neededItem != neededItem) {
+        if (state.idleNeededItem != neededItem) {
             // They need something different now, reset the timer
             state.idleStartTime = System.currentTimeMillis();
-            state.neededItem = neededItem;
-            state.grantedThisCycle = false;
+            state.idleNeededItem = neededItem;
+            state.idleGrantedThisCycle = false;
             return false;
         }
         
         // Check if we already granted items this cycle
-        if (state.grantedThisCycle) {
+        if (state.idleGrantedThisCycle) {
             return false;
         }
         
@@ -87,7 +67,7 @@ public class PitySystem {
             ItemStack grantedStack = new ItemStack(neededItem, PITY_GRANT_AMOUNT);
             inventoryAdder.accept(entity, grantedStack);
             
-            state.grantedThisCycle = true;
+            state.idleGrantedThisCycle = true;
             
             RoamersPlusMod.LOGGER.debug("Pity system granted {} x{} to roamer at {}", 
                 neededItem.getDescriptionId(), PITY_GRANT_AMOUNT, entity.blockPosition());
@@ -102,40 +82,38 @@ public class PitySystem {
      * Called when a roamer is no longer idle (working, moving, etc.)
      * Resets their idle tracking state.
      * 
-     * @param entity The roamer entity
+     * @param state The roamer's state attachment
      */
-    public static void clearIdleState(LivingEntity entity) {
-        if (entity != null) {
-            idleTracker.remove(entity);
+    public static void clearIdleState(RoamerState state) {
+        if (state != null) {
+            state.idleTracked = false;
+            state.idleNeededItem = null;
+            state.idleGrantedThisCycle = false;
         }
     }
     
     /**
-     * Cleanup method called when server stops to ensure no memory leaks.
+     * Called when a roamer gets more of the item it is idle waiting for on its own.
+     * Restarts the idle timer, unless that item came from a pity grant this cycle.
+     * 
+     * @param state The roamer's state attachment
      */
-    public static void cleanup() {
-        idleTracker.clear();
-        RoamersPlusMod.LOGGER.debug("Pity system cleaned up");
+    public static void onNeededItemAcquired(RoamerState state) {
+        if (state != null && state.idleTracked && !state.idleGrantedThisCycle) {
+            state.idleStartTime = System.currentTimeMillis();
+        }
     }
     
     /**
-     * Gets the current idle time for an entity (for debugging purposes).
+     * Gets the current idle time for a roamer (for debugging purposes).
      * 
-     * @param entity The entity to check
+     * @param state The roamer's state attachment
      * @return Idle time in milliseconds, or -1 if not tracked
      */
-    public static long getIdleTime(LivingEntity entity) {
-        IdleState state = idleTracker.get(entity);
-        if (state == null) {
+    public static long getIdleTime(RoamerState state) {
+        if (state == null || !state.idleTracked) {
             return -1;
         }
         return System.currentTimeMillis() - state.idleStartTime;
     }
-    
-    /**
-     * Gets the number of currently tracked entities (for debugging).
-     */
-    public static int getTrackedCount() {
-        return idleTracker.size();
-    }
 }
@@ -1,14 +1,21 @@
 package com.example.roamersplus.util;
 
 import com.example.roamersplus.RoamersPlusMod;
+import com.example.roamersplus.placement.BlockWriteBatch;
+import com.example.roamersplus.placement.HomeSurvey;
+import com.example.roamersplus.placement.LoadedBlocks;
+import com.example.roamersplus.placement.LoadedChunkView;
+import com.example.roamersplus.placement.PlacementStats;
+import com.example.roamersplus.placement.ScatterSampler;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.tags.BlockTags;
-import net.minecraft.world.Container;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
@@ -16,8 +23,8 @@ import net.minecraft.world.level.block.SaplingBlock;
 import net.minecraft.world.level.block.state.BlockState;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Utility class for sapling placement operations.
@@ -25,27 +32,76 @@ import java.util.List;
  */
 public class SaplingPlacementHelper {
     
+    // Safety: Maximum saplings to place in one scatter operation
+    public static final int MAX_SCATTER_SAPLINGS = 32;
+    
+    // Spare candidates planned beyond the limit, in case some fail the final re-check
+    private static final int SCATTER_SPARE_CANDIDATES = 16;
+    
+    // Half-size of the building area around home that scatter leaves clear
+    private static final int SCATTER_INNER_HALF_SIZE = 3;
+    
+    // Minimum distance between scattered saplings
+    private static final int SCATTER_MIN_SPACING = 3;
+    
+    // How far above/below the base position a sapling may be placed
+    private static final int GROUND_SEARCH_HEIGHT = 5;
+    
     /**
-     * Scatters multiple types of saplings, alternating between them for even distribution.
-     * Also applies bonemeal to placed saplings if available.
-     * 
-     * Safety: Limits placement to MAX_SCATTER_SAPLINGS to prevent lag with large stacks.
+     * Plans where to scatter saplings around a home, from its survey.
+     * Planned spots are reserved in the survey so other placements leave them alone until
+     * they are planted or released. Spots in chunks that are not loaded are skipped and
+     * counted in {@link PlacementStats}.
      * 
-     * @param level The world level
-     * @param centerPos Center position (usually roamer's home/campfire)
-     * @param radius The radius to scatter within
-     * @param saplingStacks List of sapling stacks to scatter (will be modified)
-     * @param bonemealStack Bonemeal stack to use (will be modified), can be null or empty
+     * @param survey The survey of the home to scatter around
+     * @return Packed candidate positions in placement order
      */
-    public static void scatterSaplingsAlternating(Level level, BlockPos centerPos, int radius, 
-                                                   List<ItemStack> saplingStacks, ItemStack bonemealStack) {
-        if (level.isClientSide() || saplingStacks.isEmpty()) {
-            return;
-        }
+    public static LongArrayList planScatterPositions(HomeSurvey survey) {
+        LongArrayList candidates = new LongArrayList();
+        int maxCandidates = MAX_SCATTER_SAPLINGS + SCATTER_SPARE_CANDIDATES;
         
-        // Safety: Maximum saplings to place in one scatter operation
-        final int MAX_SCATTER_SAPLINGS = 32;
+        // Draw well-spaced spots lazily and stop as soon as we have enough
+        ScatterSampler sampler = new ScatterSampler(survey.getRadius(), SCATTER_INNER_HALF_SIZE, SCATTER_MIN_SPACING, new Random());
+        int scanned = 0;
+        int skipped = 0;
+        while (candidates.size() < maxCandidates && sampler.next()) {
+            int dx = sampler.x();
+            int dz = sampler.z();
+            scanned++;
+            if (survey.isUnloaded(dx, dz)) {
+                skipped++;
+                continue;
+            }
+            
+            if (survey.canPlant(dx, dz)) {
+                sampler.accept();
+                survey.reserve(dx, dz);
+                candidates.add(survey.getPlantPos(dx, dz).asLong());
+            }
+        }
         
+        PlacementStats.record(PlacementStats.Scan.SCATTER, scanned, skipped);
+        RoamersPlusMod.LOGGER.debug("Planned {} scatter spots around {} ({} skipped in unloaded chunks)",
+            candidates.size(), survey.getHome(), skipped);
+        return candidates;
+    }
+    
+    /**
+     * Places the next few scattered saplings from the planned targets, alternating between sapling
+     * types for even distribution. Targets are consumed from the front and re-checked against the
+     * live world before placing; targets whose chunk is not loaded go to the back for a later step.
+     * The step's saplings are written together through a {@link BlockWriteBatch}.
+     * 
+     * @param level The world level
+     * @param targets Packed planned positions from {@link #planScatterPositions}; tried ones are removed
+     * @param saplingStacks List of sapling stacks to place from (will be modified)
+     * @param maxToPlace Maximum saplings to place in this step
+     * @param typeIndex Alternation cursor to start from
+     * @param placed Receives the packed positions of placed saplings
+     * @return The alternation cursor to continue from on the next step
+     */
+    public static int scatterSaplingsStep(ServerLevel level, LongArrayList targets, List<ItemStack> saplingStacks,
+                                          int maxToPlace, int typeIndex, LongArrayList placed) {
         // Group stacks by sapling *type* (not by slot) so alternation actually alternates between sapling types.
         java.util.LinkedHashMap<Block, List<ItemStack>> stacksByBlock = new java.util.LinkedHashMap<>();
 
@@ -62,188 +118,109 @@ public class SaplingPlacementHelper {
 
         if (stacksByBlock.isEmpty()) {
             RoamersPlusMod.LOGGER.debug("No valid sapling stacks to scatter");
-            return;
+            return typeIndex;
         }
 
         List<Block> saplingBlocks = new ArrayList<>(stacksByBlock.keySet());
         List<List<ItemStack>> stacksByType = new ArrayList<>(stacksByBlock.values());
-
-        RoamersPlusMod.LOGGER.debug("Scattering {} sapling types around {}", saplingBlocks.size(), centerPos);
-// Generate and shuffle positions
-        List<BlockPos> potentialPositions = generateScatterPositions(centerPos, radius);
         
-        // Track placed saplings for bonemeal application
-        List<BlockPos> placedSaplingPositions = new ArrayList<>();
+        // The set of types can change between steps
+        typeIndex = Math.floorMod(typeIndex, saplingBlocks.size());
         
-        // Current sapling type index for alternation
-        int typeIndex = 0;
-        int totalPlaced = 0;
+        LoadedChunkView view = new LoadedChunkView(level);
+        BlockWriteBatch batch = new BlockWriteBatch(level);
+        int placedCount = 0;
+        int skipped = 0;
         
-        for (BlockPos basePos : potentialPositions) {
-            // Safety: Stop if we've placed enough saplings
-            if (totalPlaced >= MAX_SCATTER_SAPLINGS) {
-                RoamersPlusMod.LOGGER.debug("Reached max scatter limit of {} saplings", MAX_SCATTER_SAPLINGS);
-                break;
+        // Each target is looked at most once per step
+        for (int remaining = targets.size(); remaining > 0 && placedCount < maxToPlace && !targets.isEmpty(); remaining--) {
+            long packed = targets.removeLong(0);
+            BlockPos candidatePos = BlockPos.of(packed);
+            if (!view.isLoaded(candidatePos)) {
+                targets.add(packed);
+                skipped++;
+                continue;
             }
             
-            // Check if we still have saplings to place
-            boolean hasAnySaplings = false;
-            for (List<ItemStack> stacks : stacksByType) {
-                for (ItemStack stack : stacks) {
-                    if (stack != null && !stack.isEmpty() && stack.getCount() > 0) {
-                        hasAnySaplings = true;
-                        break;
-                    }
-                }
-                if (hasAnySaplings) break;
-            }
-if (!hasAnySaplings) {
-                break;
-            }
+            // Re-check the planned spot; the world may have changed since planning
+            if (!isValidSaplingSpot(view, candidatePos)) continue;
             
             // Find the next sapling type that has saplings remaining
             // Start from current typeIndex and wrap around
-            int attempts = 0;
-            while (attempts < saplingBlocks.size()) {
-                // Find a non-empty stack for this sapling type
-                List<ItemStack> typeStacks = stacksByType.get(typeIndex);
-                ItemStack stackToUse = ItemStack.EMPTY;
-                for (ItemStack s : typeStacks) {
-                    if (s != null && !s.isEmpty() && s.getCount() > 0) {
-                        stackToUse = s;
-                        break;
-                    }
-                }
-
-                if (!stackToUse.isEmpty() && stackToUse.getCount() > 0) {
-                    // Try to place this sapling
-                    BlockPos validPos = findValidSaplingPosition(level, basePos);
-                    if (validPos != null) {
-                        Block block = saplingBlocks.get(typeIndex);
-                        BlockState saplingState = block.defaultBlockState();
-                        level.setBlock(validPos, saplingState, 3);
-                        stackToUse.shrink(1);
-                        placedSaplingPositions.add(validPos);
-                        totalPlaced++;
-
-                        RoamersPlusMod.LOGGER.debug("Placed {} at {} (type index {})", 
-                            block.getName().getString(), validPos, typeIndex);
-
-                        // Move to next type for alternation
-                        typeIndex = (typeIndex + 1) % saplingBlocks.size();
-                        break;
-                    }
-                }
-
-                // Try next type
+            ItemStack stackToUse = ItemStack.EMPTY;
+            for (int attempts = 0; attempts < saplingBlocks.size(); attempts++) {
+                stackToUse = firstNonEmpty(stacksByType.get(typeIndex));
+                if (!stackToUse.isEmpty()) break;
                 typeIndex = (typeIndex + 1) % saplingBlocks.size();
-                attempts++;
-            }}
-        
-        RoamersPlusMod.LOGGER.debug("Placed {} saplings total", totalPlaced);
-        
-        // Apply bonemeal to placed saplings
-        // Each sapling gets up to 3 bonemeal applications to help them grow faster
-        if (bonemealStack != null && !bonemealStack.isEmpty() && level instanceof ServerLevel serverLevel) {
-            int bonemealUsed = 0;
-            int bonemealPerSapling = 3; // Apply multiple bonemeal to help growth
-            
-            for (BlockPos saplingPos : placedSaplingPositions) {
-                if (bonemealStack.isEmpty() || bonemealStack.getCount() <= 0) {
-                    break;
-                }
-                
-                // Apply bonemeal multiple times per sapling (up to bonemealPerSapling times)
-                for (int i = 0; i < bonemealPerSapling && bonemealStack.getCount() > 0; i++) {
-                    BlockState state = level.getBlockState(saplingPos);
-                    
-                    // Stop if sapling is gone (grew into tree)
-                    if (!(state.getBlock() instanceof SaplingBlock)) {
-                        break;
-                    }
-                    
-                    // Apply bonemeal effect
-                    if (applyBonemealToSapling(serverLevel, saplingPos, null)) {
-                        bonemealStack.shrink(1);
-                        bonemealUsed++;
-                    }
-                }
             }
-            RoamersPlusMod.LOGGER.debug("Used {} bonemeal on {} saplings", bonemealUsed, placedSaplingPositions.size());
+            if (stackToUse.isEmpty()) break; // Out of saplings
+            
+            Block block = saplingBlocks.get(typeIndex);
+            batch.add(candidatePos, block.defaultBlockState());
+            stackToUse.shrink(1);
+            placed.add(packed);
+            placedCount++;
+
+            RoamersPlusMod.LOGGER.debug("Placed {} at {} (type index {})", 
+                block.getName().getString(), candidatePos, typeIndex);
+
+            // Move to next type for alternation
+            typeIndex = (typeIndex + 1) % saplingBlocks.size();
         }
+        
+        batch.apply();
+        PlacementStats.record(PlacementStats.Scan.SCATTER, 0, skipped);
+        return typeIndex;
     }
     
-    /**
-     * Applies bonemeal effect to a sapling, potentially growing it into a tree.
-     * Always returns true if bonemeal was applied (sapling existed), regardless of whether tree grew.
-     * This ensures bonemeal is consumed on each application attempt.
-     *
-     * @param level The server level
-     * @param pos The sapling position
-     * @param sapling The sapling block type (can be null to auto-detect)
-     * @return true if bonemeal was applied, false if no sapling at position
-     */
-    private static boolean applyBonemealToSapling(ServerLevel level, BlockPos pos, SaplingBlock sapling) {
-        BlockState state = level.getBlockState(pos);
-        
-        // Auto-detect sapling if not specified
-        if (!(state.getBlock() instanceof SaplingBlock currentSapling)) {
-            return false;
-        }
-        
-        // If specific sapling was requested, verify it matches
-        if (sapling != null && currentSapling != sapling) {
-            return false;
+    private static ItemStack firstNonEmpty(List<ItemStack> stacks) {
+        for (ItemStack stack : stacks) {
+            if (stack != null && !stack.isEmpty()) {
+                return stack;
+            }
         }
-        
-        // Apply bonemeal effect - advanceTree handles the growth stage advancement
-        // This mimics what BoneMealItem does internally
-        currentSapling.advanceTree(level, pos, state, level.random);
-        
-        // Always return true since we applied the effect - bonemeal should be consumed
-        // The tree may or may not have grown, but the bonemeal was used
-        return true;
+        return ItemStack.EMPTY;
     }
-
     
     /**
-     * Generates a shuffled list of potential scatter positions within radius.
+     * Gets how many growth stages (bonemeal uses) a sapling needs before it grows into a tree.
+     * A fresh sapling first advances its stage, then places the tree on the next advance.
+     *
+     * @param state The sapling's block state
      */
-    private static List<BlockPos> generateScatterPositions(BlockPos centerPos, int radius) {
-        List<BlockPos> positions = new ArrayList<>();
-        
-        for (int x = -radius; x <= radius; x++) {
-            for (int z = -radius; z <= radius; z++) {
-                // Skip positions too close to center (leave room for building)
-                if (Math.abs(x) <= 3 && Math.abs(z) <= 3) {
-                    continue;
-                }
-                
-                // Check within circular radius
-                if (x * x + z * z <= radius * radius) {
-                    positions.add(centerPos.offset(x, 0, z));
-                }
-            }
-        }
-        
-        // Shuffle for random distribution
-        Collections.shuffle(positions);
-        return positions;
+    public static int stagesToGrow(BlockState state) {
+        return state.hasProperty(SaplingBlock.STAGE) && state.getValue(SaplingBlock.STAGE) == 0 ? 2 : 1;
     }
     
     /**
      * Finds a valid position to place a sapling near the given base position.
-     * Searches vertically to find appropriate ground level.
+     * Starts at the surface from the heightmap and only scans the column when the surface is
+     * above the search window (an overhang, roof or trunk covers the spot).
      * 
-     * @param level The world level
+     * @param blocks The blocks to search (a live view or a snapshot)
      * @param basePos The base position to search around
      * @return A valid position for sapling placement, or null if none found
      */
-    private static BlockPos findValidSaplingPosition(Level level, BlockPos basePos) {
-        // Search up and down from base position
-        for (int yOffset = -5; yOffset <= 5; yOffset++) {
-            BlockPos checkPos = basePos.offset(0, yOffset, 0);
-            if (isValidSaplingSpot(level, checkPos)) {
+    private static BlockPos findValidSaplingPosition(LoadedBlocks blocks, BlockPos basePos) {
+        int minY = basePos.getY() - GROUND_SEARCH_HEIGHT;
+        int maxY = basePos.getY() + GROUND_SEARCH_HEIGHT;
+        int surfaceY = blocks.getSurfaceY(basePos.getX(), basePos.getZ());
+        
+        // Chunk not loaded: nothing to find without loading it
+        if (surfaceY == LoadedBlocks.UNKNOWN_SURFACE) return null;
+        
+        // Everything above the surface is air or leaves, so nothing to find there
+        if (surfaceY < minY) return null;
+        
+        if (surfaceY <= maxY) {
+            BlockPos surfacePos = new BlockPos(basePos.getX(), surfaceY, basePos.getZ());
+            return isValidSaplingSpot(blocks, surfacePos) ? surfacePos : null;
+        }
+        
+        // Surface covered: fall back to a bounded scan, bottom up
+        for (int y = minY; y <= maxY; y++) {
+            BlockPos checkPos = new BlockPos(basePos.getX(), y, basePos.getZ());
+            if (isValidSaplingSpot(blocks, checkPos)) {
                 return checkPos;
             }
         }
@@ -254,22 +231,22 @@ if (!hasAnySaplings) {
      * Public wrapper for findValidSaplingPosition.
      * Finds a valid position to place a sapling near the given base position.
      * 
-     * @param level The world level
+     * @param blocks The blocks to search (a live view or a snapshot)
      * @param basePos The base position to search around
      * @return A valid position for sapling placement, or null if none found
      */
-    public static BlockPos findValidSaplingPositionPublic(Level level, BlockPos basePos) {
-        return findValidSaplingPosition(level, basePos);
+    public static BlockPos findValidSaplingPositionPublic(LoadedBlocks blocks, BlockPos basePos) {
+        return findValidSaplingPosition(blocks, basePos);
     }
     
     /**
      * Checks if a position is valid for placing a sapling.
      * Requires: air at position, solid plantable ground below, air above.
      */
-    private static boolean isValidSaplingSpot(Level level, BlockPos pos) {
-        BlockState stateAtPos = level.getBlockState(pos);
-        BlockState stateBelow = level.getBlockState(pos.below());
-        BlockState stateAbove = level.getBlockState(pos.above());
+    public static boolean isValidSaplingSpot(BlockGetter blocks, BlockPos pos) {
+        BlockState stateAtPos = blocks.getBlockState(pos);
+        BlockState stateBelow = blocks.getBlockState(pos.below());
+        BlockState stateAbove = blocks.getBlockState(pos.above());
         
         // Position must be air or replaceable
         if (!stateAtPos.isAir() && !stateAtPos.canBeReplaced()) {
@@ -296,6 +273,7 @@ if (!hasAnySaplings) {
     
     /**
      * Attempts to replant a sapling at or near a tree stump position.
+     * Positions in chunks that are not loaded are skipped rather than loaded.
      * 
      * @param level The world level
      * @param stumpPos The position where the tree was chopped
@@ -303,7 +281,7 @@ if (!hasAnySaplings) {
      * @return true if successfully replanted, false otherwise
      */
     public static boolean replantAtStump(Level level, BlockPos stumpPos, Item saplingItem) {
-        if (level.isClientSide() || !(saplingItem instanceof BlockItem blockItem)) {
+        if (!(level instanceof ServerLevel serverLevel) || !(saplingItem instanceof BlockItem blockItem)) {
             return false;
         }
         
@@ -312,28 +290,45 @@ if (!hasAnySaplings) {
             return false;
         }
         
+        LoadedChunkView view = new LoadedChunkView(serverLevel);
+        
         // Try the exact stump position first
-        if (isValidSaplingSpot(level, stumpPos)) {
-            level.setBlock(stumpPos, block.defaultBlockState(), 3);
+        if (!view.isLoaded(stumpPos)) {
+            PlacementStats.record(PlacementStats.Scan.REPLANT, 1, 1);
+            return false;
+        }
+        if (isValidSaplingSpot(view, stumpPos)) {
+            PlacementStats.record(PlacementStats.Scan.REPLANT, 1, 0);
+            BlockWriteBatch.placeOne(serverLevel, stumpPos, block.defaultBlockState());
             RoamersPlusMod.LOGGER.debug("Replanted sapling at stump position {}", stumpPos);
             return true;
         }
         
         // Try nearby positions if stump isn't valid
+        int scanned = 1;
+        int skipped = 0;
         for (int x = -1; x <= 1; x++) {
             for (int z = -1; z <= 1; z++) {
                 if (x == 0 && z == 0) continue;
                 
                 BlockPos nearbyPos = stumpPos.offset(x, 0, z);
-                BlockPos validPos = findValidSaplingPosition(level, nearbyPos);
+                scanned++;
+                if (!view.isLoaded(nearbyPos)) {
+                    skipped++;
+                    continue;
+                }
+                
+                BlockPos validPos = findValidSaplingPosition(view, nearbyPos);
                 if (validPos != null) {
-                    level.setBlock(validPos, block.defaultBlockState(), 3);
+                    PlacementStats.record(PlacementStats.Scan.REPLANT, scanned, skipped);
+                    BlockWriteBatch.placeOne(serverLevel, validPos, block.defaultBlockState());
                     RoamersPlusMod.LOGGER.debug("Replanted sapling near stump at {}", validPos);
                     return true;
                 }
             }
         }
         
+        PlacementStats.record(PlacementStats.Scan.REPLANT, scanned, skipped);
         return false;
     }
     
@@ -379,54 +374,4 @@ if (!hasAnySaplings) {
         
         return null;
     }
-
-
-/**
- * Attempts to bonemeal a sapling at the given position using bonemeal from the provided inventory.
- * Will consume up to maxUses bonemeal, stopping early if the sapling grows into a tree.
- *
- * @return number of bonemeal items consumed
- */
-public static int bonemealSaplingFromInventory(Level level, BlockPos pos, Container inventory, int maxUses) {
-    if (level.isClientSide() || !(level instanceof ServerLevel serverLevel) || inventory == null || maxUses <= 0) {
-        return 0;
-    }
-
-    BlockState state = serverLevel.getBlockState(pos);
-    if (!(state.getBlock() instanceof SaplingBlock)) {
-        return 0;
-    }
-
-    int used = 0;
-    for (int attempt = 0; attempt < maxUses; attempt++) {
-        // Check if sapling still exists (might have grown from previous application)
-        if (!(serverLevel.getBlockState(pos).getBlock() instanceof SaplingBlock)) {
-            break; // Tree grew!
-        }
-        
-        int slot = findFirstBonemealSlot(inventory);
-        if (slot < 0) break;
-
-        ItemStack bone = inventory.getItem(slot);
-        if (bone.isEmpty() || bone.getItem() != Items.BONE_MEAL) break;
-
-        // Apply bonemeal - always consumes one regardless of growth
-        applyBonemealToSapling(serverLevel, pos, null);
-
-        bone.shrink(1);
-        if (bone.isEmpty()) {
-            inventory.setItem(slot, ItemStack.EMPTY);
-        }
-        used++;
-    }
-    return used;
-}
-
-private static int findFirstBonemealSlot(Container inventory) {
-    for (int i = 0; i < inventory.getContainerSize(); i++) {
-        ItemStack s = inventory.getItem(i);
-        if (!s.isEmpty() && s.getItem() == Items.BONE_MEAL) return i;
-    }
-    return -1;
-}
 }
@@ -0,0 +1,118 @@
+package com.example.roamersplus.compat;
+
+import net.caitie.roamers.entity.AbstractCharacter;
+import net.caitie.roamers.entity.PlayerLikeCharacter;
+import net.caitie.roamers.entity.RoamerEntity;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.Item;
+
+/**
+ * {@link RoamerAccess} compiled directly against Roamers 2.1.
+ *
+ * Calls are plain invokevirtual instructions the JIT can inline, with no reflection or boxing.
+ * Only instantiated by {@link RoamersApi#init()} after the loaded Roamers version and API shape
+ * have been checked. The crafting table position is a private field in Roamers, so it still
+ * goes through the cached reflective handle.
+ *
+ * Should a call still fail to link against the loaded Roamers build, {@link RoamersApi} switches
+ * to the reflective implementation and the call is retried there, so nothing is thrown into the tick.
+ */
+final class DirectRoamerAccess implements RoamerAccess {
+
+    @Override
+    public boolean isRoamer(Entity entity) {
+        try {
+            return entity instanceof RoamerEntity;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).isRoamer(entity);
+        }
+    }
+
+    @Override
+    public Object getRace(Entity entity) {
+        try {
+            return entity instanceof AbstractCharacter character ? character.getRace() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getRace(entity);
+        }
+    }
+
+    @Override
+    public Container getInventory(Entity entity) {
+        try {
+            return entity instanceof PlayerLikeCharacter character ? character.getInventory() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getInventory(entity);
+        }
+    }
+
+    @Override
+    public BlockPos getHomePos(Entity entity) {
+        try {
+            return entity instanceof PlayerLikeCharacter character ? character.getHomePos() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getHomePos(entity);
+        }
+    }
+
+    @Override
+    public Object getWantedBuildingBlock(Entity entity) {
+        try {
+            return entity instanceof PlayerLikeCharacter character ? character.getWantedBuildingBlock() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getWantedBuildingBlock(entity);
+        }
+    }
+
+    @Override
+    public Object getWantedCraftingItem(Entity entity) {
+        try {
+            return entity instanceof PlayerLikeCharacter character ? character.getWantedCraftingItem() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getWantedCraftingItem(entity);
+        }
+    }
+
+    @Override
+    public Object getCurrentActivity(Entity entity) {
+        try {
+            return entity instanceof PlayerLikeCharacter character ? character.getCurrentActivity() : null;
+        } catch (LinkageError e) {
+            return RoamersApi.fallBackToReflection(e).getCurrentActivity(entity);
+        }
+    }
+
+    @Override
+    public void setWantedCraftingItem(Entity entity, Item item) {
+        try {
+            if (entity instanceof PlayerLikeCharacter character) {
+                character.setWantedCraftingItem(item);
+            }
+        } catch (LinkageError e) {
+            RoamersApi.fallBackToReflection(e).setWantedCraftingItem(entity, item);
+        }
+    }
+
+    @Override
+    public void setActivityIdle(Entity entity) {
+        try {
+            if (entity instanceof PlayerLikeCharacter character) {
+                character.setCurrentActivity(PlayerLikeCharacter.Activity.IDLE);
+            }
+        } catch (LinkageError e) {
+            RoamersApi.fallBackToReflection(e).setActivityIdle(entity);
+        }
+    }
+
+    @Override
+    public BlockPos getCraftingTablePos(Entity entity) {
+        return ReflectiveRoamerAccess.INSTANCE.getCraftingTablePos(entity);
+    }
+
+    @Override
+    public void setCraftingTablePos(Entity entity, BlockPos pos) {
+        ReflectiveRoamerAccess.INSTANCE.setCraftingTablePos(entity, pos);
+    }
+}